@@ -0,0 +1,113 @@
+package com.stationery.benchmark;
+
+import com.stationery.StationeryApplication;
+import com.stationery.service.InventoryService;
+import com.stationery.service.ItemService;
+import com.stationery.service.OrderService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spring context dengan H2 embedded yang di-seed sesuai skala benchmark.
+ * Skala diatur lewat JMH param, contoh: -p items=10000 -p ledgerRows=10000000
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    private static final int SEED_CHUNK_ROWS = 1_000_000;
+    // Setiap baris ledger ke-10 adalah withdrawal manual, sisanya top-up
+    private static final int WITHDRAWAL_EVERY = 10;
+
+    @Param({"10000"})
+    public int items;
+
+    @Param({"1000000"})
+    public long ledgerRows;
+
+    private ConfigurableApplicationContext context;
+
+    OrderService orderService;
+    ItemService itemService;
+    InventoryService inventoryService;
+
+    private int firstItemId;
+    private int[] withdrawalIds;
+    private final AtomicInteger nextWithdrawal = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(StationeryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:stationerybenchdb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                        "spring.datasource.username=sa",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.defer-datasource-initialization=true",
+                        "logging.level.root=WARN",
+                        "logging.level.com.stationery=WARN")
+                .run();
+
+        orderService = context.getBean(OrderService.class);
+        itemService = context.getBean(ItemService.class);
+        inventoryService = context.getBean(InventoryService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO item (name, price) SELECT CONCAT('Bench Item ', X), 1000.0 FROM SYSTEM_RANGE(1, ?)", items);
+        firstItemId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM item WHERE name LIKE 'Bench Item %'", Integer.class);
+
+        // Insert set-based per chunk agar undo log H2 tidak membengkak untuk jutaan baris
+        for (long from = 1; from <= ledgerRows; from += SEED_CHUNK_ROWS) {
+            long to = Math.min(from + SEED_CHUNK_ROWS - 1, ledgerRows);
+            jdbcTemplate.update("INSERT INTO inventory (item_id, qty, type, order_id) " +
+                            "SELECT ? + MOD(X, ?), " +
+                            "CASE WHEN MOD(X, ?) = 0 THEN 1 ELSE 100 END, " +
+                            "CASE WHEN MOD(X, ?) = 0 THEN 'W' ELSE 'T' END, NULL " +
+                            "FROM SYSTEM_RANGE(?, ?)",
+                    firstItemId, items, WITHDRAWAL_EVERY, WITHDRAWAL_EVERY, from, to);
+        }
+        inventoryService.rebuildStockBalances();
+
+        List<Integer> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM inventory WHERE type = 'W' AND order_id IS NULL AND item_id >= ? ORDER BY id",
+                Integer.class, firstItemId);
+        withdrawalIds = ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    int randomItemId() {
+        return firstItemId + ThreadLocalRandom.current().nextInt(items);
+    }
+
+    int randomPage(int pageSize) {
+        return ThreadLocalRandom.current().nextInt(Math.max(1, items / pageSize));
+    }
+
+    /**
+     * Next manual withdrawal to delete, setiap baris hanya bisa dihapus sekali
+     */
+    int nextWithdrawalId() {
+        int index = nextWithdrawal.getAndIncrement();
+        if (index >= withdrawalIds.length) {
+            throw new IllegalStateException("Withdrawal pool exhausted, increase ledgerRows or shorten the run");
+        }
+        return withdrawalIds[index];
+    }
+}
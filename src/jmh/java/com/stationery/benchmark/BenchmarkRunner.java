@@ -0,0 +1,77 @@
+package com.stationery.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Menjalankan ServiceBenchmark untuk setiap jumlah thread di -Dbench.threads (default 1,4,16)
+ * dan mencetak ringkasan throughput serta p99 latency. Argumen lain diteruskan ke JMH,
+ * contoh: -p items=10000 -p ledgerRows=10000000 createOrder
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        int[] threadCounts = Arrays.stream(System.getProperty("bench.threads", "1,4,16").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        List<Row> rows = new ArrayList<>();
+        for (int threads : threadCounts) {
+            OptionsBuilder builder = new OptionsBuilder();
+            builder.parent(commandLine);
+            if (commandLine.getIncludes().isEmpty()) {
+                builder.include(ServiceBenchmark.class.getSimpleName());
+            }
+            Options options = builder
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(STR."target/jmh-result-\{threads}t.json")
+                    .build();
+
+            Collection<RunResult> results = new Runner(options).run();
+            results.forEach(result -> rows.add(Row.of(threads, result)));
+        }
+
+        printSummary(rows);
+    }
+
+    private static void printSummary(List<Row> rows) {
+        System.out.println();
+        System.out.printf("%-28s %8s %16s %16s%n", "Benchmark", "Threads", "Throughput", "p99 latency");
+        rows.stream()
+                .filter(row -> row.mode() == Mode.Throughput)
+                .forEach(throughput -> {
+                    String p99 = rows.stream()
+                            .filter(row -> row.mode() == Mode.SampleTime
+                                    && row.benchmark().equals(throughput.benchmark())
+                                    && row.threads() == throughput.threads())
+                            .findFirst()
+                            .map(row -> String.format("%.3f %s", row.p99(), row.unit()))
+                            .orElse("-");
+                    System.out.printf("%-28s %8d %16s %16s%n", throughput.benchmark(), throughput.threads(),
+                            String.format("%.3f %s", throughput.score(), throughput.unit()), p99);
+                });
+    }
+
+    private record Row(String benchmark, int threads, Mode mode, double score, double p99, String unit) {
+        static Row of(int threads, RunResult result) {
+            String benchmark = result.getParams().getBenchmark();
+            Result<?> primary = result.getPrimaryResult();
+            return new Row(benchmark.substring(benchmark.lastIndexOf('.') + 1), threads, result.getParams().getMode(),
+                    primary.getScore(), primary.getStatistics().getPercentile(99), primary.getScoreUnit());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.stationery.benchmark;
+
+import com.stationery.dto.OrderDto;
+import com.stationery.dto.response.ItemWithStockDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline throughput dan latency (p99 dari SampleTime) untuk service hot path.
+ * Jumlah thread diatur oleh BenchmarkRunner.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g"})
+public class ServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Benchmark
+    public OrderDto createOrder(BenchmarkContext ctx) {
+        return ctx.orderService.createOrder(OrderDto.builder()
+                .itemId(ctx.randomItemId())
+                .qty(1)
+                .build());
+    }
+
+    @Benchmark
+    public Page<ItemWithStockDto> getAllItemsWithStock(BenchmarkContext ctx) {
+        return ctx.itemService.getAllItemsWithStock(PageRequest.of(ctx.randomPage(PAGE_SIZE), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Integer calculateRemainingStock(BenchmarkContext ctx) {
+        return ctx.inventoryService.calculateRemainingStock(ctx.randomItemId());
+    }
+
+    @Benchmark
+    public Integer deleteInventory(BenchmarkContext ctx) {
+        int id = ctx.nextWithdrawalId();
+        ctx.inventoryService.deleteInventory(id);
+        return id;
+    }
+}
@@ -0,0 +1,160 @@
+package com.stationery.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Access log per request dengan sampling per endpoint.
+ * Request error (status >= 400) dan request lambat selalu dicatat beserta payload-nya,
+ * request lain hanya dicatat sesuai sample rate dan tanpa payload.
+ * Filter ini berjalan sebelum security filter supaya request yang ditolak (401/403) ikut tercatat,
+ * user yang login diambil dari {@link UserCaptureFilter} yang berjalan setelah security filter.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final String USER_ATTRIBUTE = AccessLogFilter.class.getName() + ".user";
+
+    private final AccessLogWriter accessLogWriter;
+    private final Map<String, Double> sampleRates;
+    private final double defaultSampleRate;
+    private final long slowThresholdMillis;
+    private final int maxPayloadLength;
+
+    /**
+     * @param sampleRates format "GET /api/items=0.01,POST /api/orders=1.0", key memakai pattern endpoint
+     */
+    public AccessLogFilter(AccessLogWriter accessLogWriter, String sampleRates, double defaultSampleRate,
+                           long slowThresholdMillis, int maxPayloadLength) {
+        this.accessLogWriter = accessLogWriter;
+        this.sampleRates = parseSampleRates(sampleRates);
+        this.defaultSampleRate = defaultSampleRate;
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Body hanya di-cache untuk request yang punya body, dan dibatasi panjangnya
+        HttpServletRequest requestToUse = hasBody(request)
+                ? new ContentCachingRequestWrapper(request, maxPayloadLength)
+                : request;
+
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            filterChain.doFilter(requestToUse, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            failed = true;
+            throw ex;
+        } finally {
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            String endpoint = endpointOf(request);
+
+            String reason = reasonToLog(endpoint, status, durationMs);
+            if (reason != null) {
+                boolean withPayload = !"sampled".equals(reason);
+                accessLogWriter.submit(new AccessLogWriter.AccessLogRecord(
+                        Instant.now().toString(),
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        endpoint,
+                        request.getQueryString(),
+                        status,
+                        durationMs,
+                        userOf(request),
+                        request.getRemoteAddr(),
+                        reason,
+                        withPayload ? payloadOf(requestToUse) : null));
+            }
+        }
+    }
+
+    /**
+     * Decide whether the request is logged
+     * @return "error", "slow", "sampled" atau null jika tidak dicatat
+     */
+    String reasonToLog(String endpoint, int status, long durationMs) {
+        if (status >= 400) {
+            return "error";
+        }
+        if (durationMs >= slowThresholdMillis) {
+            return "slow";
+        }
+        double rate = sampleRates.getOrDefault(endpoint, defaultSampleRate);
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate ? "sampled" : null;
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    private static String userOf(HttpServletRequest request) {
+        // Security context sudah dibersihkan saat chain selesai, pakai user yang dicatat di dalam chain
+        Object user = request.getAttribute(USER_ATTRIBUTE);
+        if (user != null) {
+            return user.toString();
+        }
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? principal.getName() : null;
+    }
+
+    private static String payloadOf(HttpServletRequest request) {
+        if (request instanceof ContentCachingRequestWrapper wrapper) {
+            byte[] content = wrapper.getContentAsByteArray();
+            return content.length > 0 ? new String(content, StandardCharsets.UTF_8) : null;
+        }
+        return null;
+    }
+
+    private static boolean hasBody(HttpServletRequest request) {
+        return "POST".equals(request.getMethod()) || "PUT".equals(request.getMethod());
+    }
+
+    private static Map<String, Double> parseSampleRates(String value) {
+        if (value == null || value.isBlank()) {
+            return Map.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(entry -> entry.split("="))
+                .collect(Collectors.toMap(pair -> pair[0].trim(), pair -> Double.parseDouble(pair[1].trim())));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator") || request.getRequestURI().startsWith("/h2-console");
+    }
+
+    /**
+     * Mencatat user yang sudah diautentikasi ke request attribute untuk {@link AccessLogFilter}.
+     * Didaftarkan setelah security filter, request yang ditolak security tidak sampai ke sini.
+     */
+    public static class UserCaptureFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            Principal principal = request.getUserPrincipal();
+            if (principal != null) {
+                request.setAttribute(USER_ATTRIBUTE, principal.getName());
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+}
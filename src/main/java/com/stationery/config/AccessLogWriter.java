@@ -0,0 +1,121 @@
+package com.stationery.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Menulis access log terstruktur (JSON per baris) dari queue terbatas di satu background thread.
+ * Jika queue penuh record dibuang dan dihitung, request tidak pernah menunggu logging.
+ */
+@Component
+@Slf4j
+public class AccessLogWriter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access-log");
+    private static final int DRAIN_BATCH = 256;
+
+    private final BlockingQueue<AccessLogRecord> queue;
+    private final ObjectMapper objectMapper;
+    private final Counter droppedCounter;
+    private Thread worker;
+    private volatile boolean running;
+
+    public AccessLogWriter(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${access-log.queue-capacity:10000}") int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.objectMapper = objectMapper;
+        this.droppedCounter = Counter.builder("stationery.accesslog.dropped")
+                .description("Access log records dropped because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("access-log-writer").start(this::drainLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        // Tulis sisa record yang masih ada di queue saat shutdown
+        List<AccessLogRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(this::write);
+    }
+
+    /**
+     * Queue a record without blocking
+     * @return false if the queue is full and the record was dropped
+     */
+    public boolean submit(AccessLogRecord accessLogRecord) {
+        boolean queued = queue.offer(accessLogRecord);
+        if (!queued) {
+            droppedCounter.increment();
+        }
+        return queued;
+    }
+
+    private void drainLoop() {
+        List<AccessLogRecord> batch = new ArrayList<>(DRAIN_BATCH);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                batch.forEach(this::write);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(AccessLogRecord accessLogRecord) {
+        try {
+            ACCESS_LOG.info(objectMapper.writeValueAsString(accessLogRecord));
+        } catch (JsonProcessingException ex) {
+            log.warn("Failed to serialize access log record: {}", ex.getMessage());
+        }
+    }
+
+    int queuedCount() {
+        return queue.size();
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record AccessLogRecord(
+            String timestamp,
+            String method,
+            String path,
+            String endpoint,
+            String query,
+            int status,
+            long durationMs,
+            String user,
+            String clientIp,
+            String reason,
+            String payload
+    ) {
+    }
+}
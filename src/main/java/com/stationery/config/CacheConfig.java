@@ -0,0 +1,53 @@
+package com.stationery.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache (JCache + Caffeine).
+ * Setiap region dibuat di sini dengan ukuran maksimal, Hibernate tidak membuat region sendiri.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String ITEM_REGION = "item";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${cache.item.max-size:10000}") long itemMaxSize,
+                                              @Value("${cache.item.expire-after-write-minutes:60}") long itemExpireMinutes) {
+        // URI unik per context supaya beberapa Spring context dalam satu JVM (test) tidak berbagi cache
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create(STR."stationery-\{UUID.randomUUID()}"), provider.getDefaultClassLoader());
+
+        CaffeineConfiguration<Object, Object> itemConfiguration = new CaffeineConfiguration<>();
+        itemConfiguration.setMaximumSize(OptionalLong.of(itemMaxSize));
+        itemConfiguration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(itemExpireMinutes)));
+        itemConfiguration.setStatisticsEnabled(true);
+        cacheManager.createCache(ITEM_REGION, itemConfiguration);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            // Region yang tidak didefinisikan di atas tidak boleh dibuat tanpa batas ukuran
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.stationery.config;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource yang membatasi jumlah connection yang dipinjam bersamaan dengan fair semaphore.
+ * Dengan virtual thread jumlah request tidak lagi dibatasi thread pool Tomcat, jadi antrian
+ * dibatasi di sini: request yang menunggu terlalu lama atau antrian yang terlalu panjang
+ * langsung gagal, bukan menumpuk di connection pool.
+ */
+@Slf4j
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+    private final int maxWaiting;
+    // Registry global diisi oleh Spring Boot, DataSource ini dibuat sebelum MeterRegistry tersedia
+    private final Timer waitTimer = Timer.builder("db.connection-limit.wait")
+            .description("Time spent waiting for a connection permit")
+            .publishPercentileHistogram()
+            .register(Metrics.globalRegistry);
+
+    public ConnectionLimitingDataSource(DataSource target, int maxConnections, long acquireTimeoutMillis, int maxWaiting) {
+        super(target);
+        this.permits = new Semaphore(maxConnections, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.maxWaiting = maxWaiting;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.getQueueLength() >= maxWaiting) {
+            throw new SQLTransientConnectionException("Too many requests waiting for a database connection");
+        }
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                throw new SQLTransientConnectionException(
+                        STR."Timed out after \{acquireTimeoutMillis} ms waiting for a database connection");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", ex);
+        }
+    }
+
+    /**
+     * Wrap the connection so that close() returns the permit exactly once
+     */
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        if (!released.compareAndSet(false, true)) {
+                            // Close kedua tidak boleh sampai ke connection pool, connection-nya bisa sudah dipinjam ulang
+                            return null;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    if ("isClosed".equals(method.getName()) && released.get()) {
+                        return true;
+                    }
+                    if ("unwrap".equals(method.getName()) && args[0] == Connection.class) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    /**
+     * Number of connections that can still be borrowed without waiting
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,23 @@
+package com.stationery.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class ETagConfig {
+
+    /**
+     * ETag untuk halaman daftar dihitung dari hash body response. Query tetap jalan,
+     * tapi body tidak dikirim ulang (304) jika isi halaman tidak berubah.
+     * Detail item dan stock memakai ETag berbasis version di controller.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listETagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/items", "/api/orders", "/api/orders/item/*",
+                "/api/inventories", "/api/inventories/item/*");
+        return registration;
+    }
+}
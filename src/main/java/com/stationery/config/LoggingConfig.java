@@ -1,21 +1,41 @@
 package com.stationery.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.filter.CommonsRequestLoggingFilter;
+import org.springframework.core.Ordered;
 
 @Configuration
 public class LoggingConfig {
 
+    /**
+     * Access log terstruktur dan async, menggantikan CommonsRequestLoggingFilter
+     * yang menyimpan dan mencatat payload setiap request secara synchronous
+     */
     @Bean
-    public CommonsRequestLoggingFilter requestLoggingFilter() {
-        CommonsRequestLoggingFilter loggingFilter = new CommonsRequestLoggingFilter();
-        loggingFilter.setIncludeClientInfo(true);
-        loggingFilter.setIncludeQueryString(true);
-        loggingFilter.setIncludePayload(true);
-        loggingFilter.setMaxPayloadLength(10000);
-        loggingFilter.setIncludeHeaders(false);
-        loggingFilter.setAfterMessagePrefix("REQUEST DATA: ");
-        return loggingFilter;
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(
+            AccessLogWriter accessLogWriter,
+            @Value("${access-log.sample-rates:}") String sampleRates,
+            @Value("${access-log.default-sample-rate:0.1}") double defaultSampleRate,
+            @Value("${access-log.slow-threshold-ms:1000}") long slowThresholdMillis,
+            @Value("${access-log.max-payload-length:2048}") int maxPayloadLength) {
+        FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(
+                new AccessLogFilter(accessLogWriter, sampleRates, defaultSampleRate, slowThresholdMillis, maxPayloadLength));
+        // Sebelum security filter supaya request yang ditolak (401/403) ikut tercatat
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
     }
-}
\ No newline at end of file
+
+    /**
+     * Setelah security filter, mencatat user yang login untuk access log
+     */
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter.UserCaptureFilter> accessLogUserCaptureFilter() {
+        FilterRegistrationBean<AccessLogFilter.UserCaptureFilter> registration =
+                new FilterRegistrationBean<>(new AccessLogFilter.UserCaptureFilter());
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 10);
+        return registration;
+    }
+}
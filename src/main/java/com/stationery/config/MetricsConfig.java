@@ -0,0 +1,40 @@
+package com.stationery.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Aktifkan @Timed pada service
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Hibernate statistics dibutuhkan oleh HibernateMetrics (entity load, query, cache),
+     * statement inspector menghitung jumlah query per request
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateMetricsCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.generate_statistics", true);
+            properties.put("hibernate.session_factory.statement_inspector", new QueryCountInspector());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
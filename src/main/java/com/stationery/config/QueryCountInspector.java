@@ -0,0 +1,31 @@
+package com.stationery.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Menghitung SQL statement yang dijalankan Hibernate di thread saat ini.
+ * Counter hanya aktif di dalam request yang dibuka oleh QueryCountFilter.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+
+    static void start() {
+        COUNTER.set(new int[1]);
+    }
+
+    static int stop() {
+        int[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter == null ? 0 : counter[0];
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -22,12 +24,22 @@ public class SecurityConfig {
     @Value("${spring.security.user.password}")
     private String password;
 
+    @Value("${security.credential-cache.enabled:true}")
+    private boolean credentialCacheEnabled;
+
+    @Value("${security.credential-cache.ttl-seconds:300}")
+    private long credentialCacheTtlSeconds;
+
+    @Value("${security.credential-cache.max-size:10000}")
+    private long credentialCacheMaxSize;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable()) // Disable CSRF untuk sample project
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/h2-console/**").permitAll() // Akses untuk ke H2 console tanpa auth
+                        .requestMatchers("/actuator/health").permitAll() // Prometheus scrape tetap memakai Basic Auth
                         .anyRequest().authenticated()
                 )
                 .httpBasic(httpBasic -> {}) // Menggunakan Basic Auth
@@ -49,6 +61,11 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Basic Auth mengirim password di setiap request, hasil verifikasi BCrypt di-cache sebentar
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        if (!credentialCacheEnabled) {
+            return bcrypt;
+        }
+        return new CachingPasswordEncoder(bcrypt, Duration.ofSeconds(credentialCacheTtlSeconds), credentialCacheMaxSize);
     }
 }
\ No newline at end of file
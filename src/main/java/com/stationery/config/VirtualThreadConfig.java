@@ -0,0 +1,43 @@
+package com.stationery.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Aktif jika spring.threads.virtual.enabled=true. Spring Boot menjalankan request Tomcat
+ * dan @Async di virtual thread, konfigurasi ini menjaga agar DataSource tidak diserbu
+ * oleh virtual thread yang jumlahnya tidak terbatas.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        // Default permit mengikuti ukuran pool Hikari supaya yang menunggu antri di semaphore yang fair
+        int maxConnections = environment.getProperty("db.connection-limit.max-connections", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long acquireTimeoutMillis = environment.getProperty("db.connection-limit.acquire-timeout-ms", Long.class, 5000L);
+        int maxWaiting = environment.getProperty("db.connection-limit.max-waiting", Integer.class, 1000);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    log.info("Limiting DataSource '{}' to {} concurrent connections, max {} waiting",
+                            beanName, maxConnections, maxWaiting);
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeoutMillis, maxWaiting);
+                }
+                return bean;
+            }
+        };
+    }
+}
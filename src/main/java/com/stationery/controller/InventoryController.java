@@ -1,18 +1,41 @@
 package com.stationery.controller;
 
 import com.stationery.dto.InventoryDto;
+import com.stationery.dto.StockLookupRequest;
+import com.stationery.dto.StockThresholdRequest;
 import com.stationery.dto.response.ApiResponse;
+import com.stationery.dto.response.IdempotentResult;
+import com.stationery.dto.response.InventoryImportResult;
 import com.stationery.dto.response.PageResponse;
+import com.stationery.dto.response.StockAlertDto;
+import com.stationery.dto.response.StockLookupResult;
+import com.stationery.dto.response.StockProjectionDto;
+import com.stationery.dto.response.StockSnapshot;
+import com.stationery.enums.CountMode;
+import com.stationery.enums.DataFormat;
+import com.stationery.service.ExportService;
+import com.stationery.service.IdempotencyService;
+import com.stationery.service.InventoryImportService;
 import com.stationery.service.InventoryService;
+import com.stationery.service.StockAlertService;
+import com.stationery.service.StockProjectionService;
+import com.stationery.service.StockStreamService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/inventories")
@@ -21,57 +44,170 @@ import jakarta.validation.Valid;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final ExportService exportService;
+    private final InventoryImportService inventoryImportService;
+    private final StockProjectionService stockProjectionService;
+    private final StockStreamService stockStreamService;
+    private final StockAlertService stockAlertService;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<InventoryDto>> getInventory(@PathVariable Integer id) {
-        log.info("Request to get inventory with ID: {}", id);
+        log.debug("Request to get inventory with ID: {}", id);
         InventoryDto inventory = inventoryService.getInventory(id);
         return ResponseEntity.ok(new ApiResponse<>(true, "Inventory retrieved successfully", inventory));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<InventoryDto>>> getAllInventories(Pageable pageable) {
-        log.info("Request to get all inventories, page: {}", pageable.getPageNumber());
-        Page<InventoryDto> inventories = inventoryService.getAllInventories(pageable);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Inventories retrieved successfully",
-                PageResponse.fromPage(inventories)));
+    public ResponseEntity<ApiResponse<PageResponse<InventoryDto>>> getAllInventories(
+            Pageable pageable, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
+        log.debug("Request to get all inventories, page: {}", pageable.getPageNumber());
+        if (cursor != null) {
+            // Mode keyset pagination, cursor kosong untuk page pertama
+            return ResponseEntity.ok(new ApiResponse<>(true, "Inventories retrieved successfully",
+                    PageResponse.fromCursorPage(inventoryService.getInventoriesByCursor(cursor, pageable.getPageSize()))));
+        }
+        // count=NONE/CACHED melewati COUNT query, total CACHED berasal dari cache background
+        PageResponse<InventoryDto> inventories = switch (count) {
+            case EXACT -> PageResponse.fromPage(inventoryService.getAllInventories(pageable));
+            case NONE -> PageResponse.fromSlice(inventoryService.getInventoriesSlice(pageable));
+            case CACHED -> PageResponse.fromSlice(inventoryService.getInventoriesSlice(pageable), inventoryService.getCachedInventoryCount());
+        };
+        return ResponseEntity.ok(new ApiResponse<>(true, "Inventories retrieved successfully", inventories));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportInventories(
+            @RequestParam(required = false) Integer itemId,
+            @RequestParam(defaultValue = "CSV") DataFormat format,
+            @RequestParam(required = false) Integer fetchSize) {
+        log.debug("Request to export inventories, item ID: {}, format: {}", itemId, format);
+        StreamingResponseBody body = outputStream -> exportService.exportInventories(itemId, format, fetchSize, outputStream);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"inventories." + format.name().toLowerCase() + "\"")
+                .body(body);
     }
 
     @GetMapping("/item/{itemId}")
     public ResponseEntity<ApiResponse<PageResponse<InventoryDto>>> getInventoriesByItemId(
-            @PathVariable Integer itemId, Pageable pageable) {
-        log.info("Request to get inventories for item ID: {}, page: {}", itemId, pageable.getPageNumber());
-        Page<InventoryDto> inventories = inventoryService.getInventoriesByItemId(itemId, pageable);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Inventories retrieved successfully",
-                PageResponse.fromPage(inventories)));
+            @PathVariable Integer itemId, Pageable pageable, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
+        log.debug("Request to get inventories for item ID: {}, page: {}", itemId, pageable.getPageNumber());
+        if (cursor != null) {
+            return ResponseEntity.ok(new ApiResponse<>(true, "Inventories retrieved successfully",
+                    PageResponse.fromCursorPage(inventoryService.getInventoriesByItemIdAndCursor(itemId, cursor, pageable.getPageSize()))));
+        }
+        PageResponse<InventoryDto> inventories = switch (count) {
+            case EXACT -> PageResponse.fromPage(inventoryService.getInventoriesByItemId(itemId, pageable));
+            case NONE -> PageResponse.fromSlice(inventoryService.getInventoriesSliceByItemId(itemId, pageable));
+            case CACHED -> PageResponse.fromSlice(inventoryService.getInventoriesSliceByItemId(itemId, pageable), inventoryService.getCachedInventoryCount(itemId));
+        };
+        return ResponseEntity.ok(new ApiResponse<>(true, "Inventories retrieved successfully", inventories));
+    }
+
+    @GetMapping(value = "/stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockChanges(@RequestParam(required = false) List<Integer> itemId) {
+        log.debug("Request to stream stock changes for item IDs: {}", itemId);
+        // Tanpa itemId berarti semua item, event "stock" berisi delta yang sudah commit
+        return stockStreamService.subscribe(itemId);
+    }
+
+    @GetMapping("/stock/low")
+    public ResponseEntity<ApiResponse<PageResponse<StockAlertDto>>> getLowStockItems(Pageable pageable) {
+        log.debug("Request to get low stock items, page: {}", pageable.getPageNumber());
+        // Dibaca dari status alert yang di-maintain async, bukan hitung ulang stock semua item
+        PageResponse<StockAlertDto> items = PageResponse.fromPage(stockAlertService.getLowStockItems(pageable));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Low stock items retrieved successfully", items));
     }
 
     @GetMapping("/stock/{itemId}")
-    public ResponseEntity<ApiResponse<Integer>> getStockByItemId(@PathVariable Integer itemId) {
-        log.info("Request to get stock for item ID: {}", itemId);
-        Integer stock = inventoryService.calculateRemainingStock(itemId);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Stock retrieved successfully", stock));
+    public ResponseEntity<ApiResponse<Integer>> getStockByItemId(@PathVariable Integer itemId, WebRequest webRequest) {
+        log.debug("Request to get stock for item ID: {}", itemId);
+        // Qty dan version dibaca dengan satu query, 304 jika client sudah punya version yang sama
+        StockSnapshot stock = inventoryService.getStockSnapshot(itemId);
+        String eTag = stock.eTag(itemId);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(new ApiResponse<>(true, "Stock retrieved successfully", stock.qty()));
+    }
+
+    @GetMapping("/stock/{itemId}/projection")
+    public ResponseEntity<ApiResponse<StockProjectionDto>> getStockProjection(@PathVariable Integer itemId) {
+        log.debug("Request to get stock projection for item ID: {}", itemId);
+        // Dibaca dari read model async, lag terhadap outbox ikut dikembalikan
+        StockProjectionDto projection = stockProjectionService.getProjection(itemId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Stock projection retrieved successfully", projection));
+    }
+
+    @PutMapping("/stock/{itemId}/threshold")
+    public ResponseEntity<ApiResponse<StockAlertDto>> setStockThreshold(
+            @PathVariable Integer itemId, @Valid @RequestBody StockThresholdRequest request) {
+        log.debug("Request to set stock threshold for item ID: {}", itemId);
+        StockAlertDto alert = stockAlertService.setThreshold(itemId, request.getThreshold());
+        return ResponseEntity.ok(new ApiResponse<>(true, "Stock threshold updated successfully", alert));
+    }
+
+    @DeleteMapping("/stock/{itemId}/threshold")
+    public ResponseEntity<ApiResponse<Void>> removeStockThreshold(@PathVariable Integer itemId) {
+        log.debug("Request to remove stock threshold for item ID: {}", itemId);
+        stockAlertService.removeThreshold(itemId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Stock threshold removed successfully", null));
+    }
+
+    @PostMapping("/stock/lookup")
+    public ResponseEntity<ApiResponse<StockLookupResult>> lookupStocks(@Valid @RequestBody StockLookupRequest request) {
+        log.debug("Request to look up stock for {} items", request.getItemIds().size());
+        StockLookupResult result = inventoryService.getStocks(request.getItemIds());
+        return ResponseEntity.ok(new ApiResponse<>(true, "Stocks retrieved successfully", result));
+    }
+
+    @PostMapping("/stock/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildStockBalances() {
+        log.debug("Request to rebuild stock balances");
+        Integer rebuilt = inventoryService.rebuildStockBalances();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Stock balances rebuilt successfully", rebuilt));
     }
 
     @PostMapping
-    public ResponseEntity<ApiResponse<InventoryDto>> createInventory(@Valid @RequestBody InventoryDto inventoryDto) {
-        log.info("Request to create inventory: {}", inventoryDto);
-        InventoryDto createdInventory = inventoryService.createInventory(inventoryDto);
-        return new ResponseEntity<>(new ApiResponse<>(true, "Inventory created successfully", createdInventory),
-                HttpStatus.CREATED);
+    public ResponseEntity<ApiResponse<InventoryDto>> createInventory(
+            @Valid @RequestBody InventoryDto inventoryDto,
+            @RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey) {
+        log.debug("Request to create inventory: {}", inventoryDto);
+        IdempotentResult<InventoryDto> createdInventory = idempotencyService.execute(idempotencyKey, "POST /api/inventories",
+                inventoryDto, InventoryDto.class, () -> inventoryService.createInventory(inventoryDto));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(createdInventory.replayed()))
+                .body(new ApiResponse<>(true, "Inventory created successfully", createdInventory.body()));
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ApiResponse<InventoryImportResult>> importTopUps(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(required = false) Integer batchSize) throws IOException {
+        log.debug("Request to import top-ups, content type: {}", contentType);
+        InventoryImportResult result = inventoryImportService.importTopUps(
+                body, DataFormat.fromContentType(contentType), batchSize);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Inventory import completed", result));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<InventoryDto>> updateInventory(
             @PathVariable Integer id, @Valid @RequestBody InventoryDto inventoryDto) {
-        log.info("Request to update inventory with ID: {}", id);
+        log.debug("Request to update inventory with ID: {}", id);
         InventoryDto updatedInventory = inventoryService.updateInventory(id, inventoryDto);
         return ResponseEntity.ok(new ApiResponse<>(true, "Inventory updated successfully", updatedInventory));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteInventory(@PathVariable Integer id) {
-        log.info("Request to delete inventory with ID: {}", id);
+        log.debug("Request to delete inventory with ID: {}", id);
         inventoryService.deleteInventory(id);
         return ResponseEntity.ok(new ApiResponse<>(true, "Inventory deleted successfully", null));
     }
@@ -4,14 +4,15 @@ import com.stationery.dto.ItemDto;
 import com.stationery.dto.response.ApiResponse;
 import com.stationery.dto.response.ItemWithStockDto;
 import com.stationery.dto.response.PageResponse;
+import com.stationery.enums.CountMode;
 import com.stationery.service.ItemService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 
@@ -24,23 +25,35 @@ public class ItemController {
     private final ItemService itemService;
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<ItemWithStockDto>> getItem(@PathVariable Integer id) {
-        log.info("Request to get item with ID: {}", id);
+    public ResponseEntity<ApiResponse<ItemWithStockDto>> getItem(@PathVariable Integer id, WebRequest webRequest) {
+        log.debug("Request to get item with ID: {}", id);
+        // Cek version dulu, DTO hanya dibangun jika client belum punya versi terbaru
+        String eTag = itemService.getItemETag(id);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         ItemWithStockDto item = itemService.getItemWithStock(id);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Item retrieved successfully", item));
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(new ApiResponse<>(true, "Item retrieved successfully", item));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<ItemWithStockDto>>> getAllItems(Pageable pageable) {
-        log.info("Request to get all items with stock, page: {}", pageable.getPageNumber());
-        Page<ItemWithStockDto> items = itemService.getAllItemsWithStock(pageable);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Items retrieved successfully",
-                PageResponse.fromPage(items)));
+    public ResponseEntity<ApiResponse<PageResponse<ItemWithStockDto>>> getAllItems(
+            Pageable pageable, @RequestParam(defaultValue = "EXACT") CountMode count) {
+        log.debug("Request to get all items with stock, page: {}", pageable.getPageNumber());
+        // count=NONE/CACHED melewati COUNT query, total CACHED berasal dari cache background
+        PageResponse<ItemWithStockDto> items = switch (count) {
+            case EXACT -> PageResponse.fromPage(itemService.getAllItemsWithStock(pageable));
+            case NONE -> PageResponse.fromSlice(itemService.getItemsWithStockSlice(pageable));
+            case CACHED -> PageResponse.fromSlice(itemService.getItemsWithStockSlice(pageable), itemService.getCachedItemCount());
+        };
+        return ResponseEntity.ok(new ApiResponse<>(true, "Items retrieved successfully", items));
     }
 
     @PostMapping
     public ResponseEntity<ApiResponse<ItemDto>> createItem(@Valid @RequestBody ItemDto itemDto) {
-        log.info("Request to create new item: {}", itemDto.getName());
+        log.debug("Request to create new item: {}", itemDto.getName());
         ItemDto createdItem = itemService.createItem(itemDto);
         return new ResponseEntity<>(new ApiResponse<>(true, "Item created successfully", createdItem),
                 HttpStatus.CREATED);
@@ -49,14 +62,14 @@ public class ItemController {
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ItemDto>> updateItem(
             @PathVariable Integer id, @Valid @RequestBody ItemDto itemDto) {
-        log.info("Request to update item with ID: {}", id);
+        log.debug("Request to update item with ID: {}", id);
         ItemDto updatedItem = itemService.updateItem(id, itemDto);
         return ResponseEntity.ok(new ApiResponse<>(true, "Item updated successfully", updatedItem));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteItem(@PathVariable Integer id) {
-        log.info("Request to delete item with ID: {}", id);
+        log.debug("Request to delete item with ID: {}", id);
         itemService.deleteItem(id);
         return ResponseEntity.ok(new ApiResponse<>(true, "Item deleted successfully", null));
     }
@@ -1,16 +1,24 @@
 package com.stationery.controller;
 
+import com.stationery.dto.OrderBatchRequest;
 import com.stationery.dto.OrderDto;
 import com.stationery.dto.response.ApiResponse;
+import com.stationery.dto.response.IdempotentResult;
+import com.stationery.dto.response.OrderBatchResult;
 import com.stationery.dto.response.PageResponse;
+import com.stationery.enums.CountMode;
+import com.stationery.enums.DataFormat;
+import com.stationery.service.ExportService;
+import com.stationery.service.IdempotencyService;
 import com.stationery.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.UUID;
@@ -22,50 +30,104 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
+    private final ExportService exportService;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<OrderDto>> getOrder(@PathVariable UUID id) {
-        log.info("Request to get order with ID: {}", id);
+        log.debug("Request to get order with ID: {}", id);
         OrderDto order = orderService.getOrder(id);
         return ResponseEntity.ok(new ApiResponse<>(true, "Order retrieved successfully", order));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<OrderDto>>> getAllOrders(Pageable pageable) {
-        log.info("Request to get all orders, page: {}", pageable.getPageNumber());
-        Page<OrderDto> orders = orderService.getAllOrders(pageable);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Orders retrieved successfully",
-                PageResponse.fromPage(orders)));
+    public ResponseEntity<ApiResponse<PageResponse<OrderDto>>> getAllOrders(
+            Pageable pageable, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
+        log.debug("Request to get all orders, page: {}", pageable.getPageNumber());
+        if (cursor != null) {
+            // Mode keyset pagination, cursor kosong untuk page pertama
+            return ResponseEntity.ok(new ApiResponse<>(true, "Orders retrieved successfully",
+                    PageResponse.fromCursorPage(orderService.getOrdersByCursor(cursor, pageable.getPageSize()))));
+        }
+        // count=NONE/CACHED melewati COUNT query, total CACHED berasal dari cache background
+        PageResponse<OrderDto> orders = switch (count) {
+            case EXACT -> PageResponse.fromPage(orderService.getAllOrders(pageable));
+            case NONE -> PageResponse.fromSlice(orderService.getOrdersSlice(pageable));
+            case CACHED -> PageResponse.fromSlice(orderService.getOrdersSlice(pageable), orderService.getCachedOrderCount());
+        };
+        return ResponseEntity.ok(new ApiResponse<>(true, "Orders retrieved successfully", orders));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) Integer itemId,
+            @RequestParam(defaultValue = "CSV") DataFormat format,
+            @RequestParam(required = false) Integer fetchSize) {
+        log.debug("Request to export orders, item ID: {}, format: {}", itemId, format);
+        StreamingResponseBody body = outputStream -> exportService.exportOrders(itemId, format, fetchSize, outputStream);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + format.name().toLowerCase() + "\"")
+                .body(body);
     }
 
     @GetMapping("/item/{itemId}")
     public ResponseEntity<ApiResponse<PageResponse<OrderDto>>> getOrdersByItemId(
-            @PathVariable Integer itemId, Pageable pageable) {
-        log.info("Request to get orders for item ID: {}, page: {}", itemId, pageable.getPageNumber());
-        Page<OrderDto> orders = orderService.getOrdersByItemId(itemId, pageable);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Orders retrieved successfully",
-                PageResponse.fromPage(orders)));
+            @PathVariable Integer itemId, Pageable pageable, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
+        log.debug("Request to get orders for item ID: {}, page: {}", itemId, pageable.getPageNumber());
+        if (cursor != null) {
+            return ResponseEntity.ok(new ApiResponse<>(true, "Orders retrieved successfully",
+                    PageResponse.fromCursorPage(orderService.getOrdersByItemIdAndCursor(itemId, cursor, pageable.getPageSize()))));
+        }
+        PageResponse<OrderDto> orders = switch (count) {
+            case EXACT -> PageResponse.fromPage(orderService.getOrdersByItemId(itemId, pageable));
+            case NONE -> PageResponse.fromSlice(orderService.getOrdersSliceByItemId(itemId, pageable));
+            case CACHED -> PageResponse.fromSlice(orderService.getOrdersSliceByItemId(itemId, pageable), orderService.getCachedOrderCount(itemId));
+        };
+        return ResponseEntity.ok(new ApiResponse<>(true, "Orders retrieved successfully", orders));
     }
 
     @PostMapping
-    public ResponseEntity<ApiResponse<OrderDto>> createOrder(@Valid @RequestBody OrderDto orderDto) {
-        log.info("Request to create order: {}", orderDto);
-        OrderDto createdOrder = orderService.createOrder(orderDto);
-        return new ResponseEntity<>(new ApiResponse<>(true, "Order created successfully", createdOrder),
-                HttpStatus.CREATED);
+    public ResponseEntity<ApiResponse<OrderDto>> createOrder(
+            @Valid @RequestBody OrderDto orderDto,
+            @RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey) {
+        log.debug("Request to create order: {}", orderDto);
+        // Retry dengan Idempotency-Key yang sama me-replay order yang sudah dibuat
+        IdempotentResult<OrderDto> createdOrder = idempotencyService.execute(idempotencyKey, "POST /api/orders",
+                orderDto, OrderDto.class, () -> orderService.createOrder(orderDto));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(createdOrder.replayed()))
+                .body(new ApiResponse<>(true, "Order created successfully", createdOrder.body()));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<OrderBatchResult>> createOrders(@Valid @RequestBody OrderBatchRequest request) {
+        log.debug("Request to create batch of {} orders, mode: {}", request.getOrders().size(), request.getMode());
+        OrderBatchResult result = orderService.createOrders(request.getOrders(), request.getMode());
+        if (result.successCount() == 0) {
+            return new ResponseEntity<>(new ApiResponse<>(false, "No orders were created", result),
+                    HttpStatus.BAD_REQUEST);
+        }
+        String message = result.failureCount() == 0
+                ? "Orders created successfully"
+                : "Orders partially created";
+        return new ResponseEntity<>(new ApiResponse<>(true, message, result), HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<OrderDto>> updateOrder(
             @PathVariable UUID id, @Valid @RequestBody OrderDto orderDto) {
-        log.info("Request to update order with ID: {}", id);
+        log.debug("Request to update order with ID: {}", id);
         OrderDto updatedOrder = orderService.updateOrder(id, orderDto);
         return ResponseEntity.ok(new ApiResponse<>(true, "Order updated successfully", updatedOrder));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteOrder(@PathVariable UUID id) {
-        log.info("Request to delete order with ID: {}", id);
+        log.debug("Request to delete order with ID: {}", id);
         orderService.deleteOrder(id);
         return ResponseEntity.ok(new ApiResponse<>(true, "Order deleted successfully", null));
     }
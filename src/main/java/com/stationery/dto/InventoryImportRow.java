@@ -0,0 +1,9 @@
+package com.stationery.dto;
+
+// Satu baris top-up hasil parsing file import, line mengikuti nomor baris di file
+public record InventoryImportRow(
+        long line,
+        Integer itemId,
+        Integer qty
+) {
+}
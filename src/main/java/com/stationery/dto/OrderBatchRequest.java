@@ -0,0 +1,26 @@
+package com.stationery.dto;
+
+import com.stationery.enums.BatchMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchRequest {
+
+    @NotEmpty(message = "Orders are required")
+    @Size(max = 1000, message = "A batch may contain at most 1000 orders")
+    @Valid
+    private List<OrderDto> orders;
+
+    private BatchMode mode; // Opsional, default dari konfigurasi order.batch.default-mode
+}
@@ -0,0 +1,21 @@
+package com.stationery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLookupRequest {
+
+    @NotEmpty(message = "Item IDs are required")
+    @Size(max = 5000, message = "A lookup may contain at most 5000 item IDs")
+    private List<Integer> itemIds;
+}
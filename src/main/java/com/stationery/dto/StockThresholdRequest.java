@@ -0,0 +1,20 @@
+package com.stationery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockThresholdRequest {
+
+    @NotNull(message = "Threshold is required")
+    @PositiveOrZero(message = "Threshold must not be negative")
+    private Integer threshold;
+}
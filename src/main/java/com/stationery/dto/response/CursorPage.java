@@ -0,0 +1,24 @@
+package com.stationery.dto.response;
+
+import com.stationery.util.CursorCodec;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Hasil keyset pagination: content dan cursor untuk page berikutnya (null jika sudah habis)
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        String nextCursor
+) {
+    /**
+     * Build a page from rows fetched with limit size + 1,
+     * baris tambahan hanya dipakai untuk mengetahui apakah masih ada page berikutnya
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, ?> keyExtractor, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? CursorCodec.encode(keyExtractor.apply(pageRows.get(pageRows.size() - 1))) : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), size, nextCursor);
+    }
+}
@@ -0,0 +1,8 @@
+package com.stationery.dto.response;
+
+// Response dari eksekusi idempotent, replayed = true jika dibaca dari key yang sudah tersimpan
+public record IdempotentResult<T>(
+        T body,
+        boolean replayed
+) {
+}
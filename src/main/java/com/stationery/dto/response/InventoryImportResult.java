@@ -0,0 +1,15 @@
+package com.stationery.dto.response;
+
+import java.util.List;
+
+// Ringkasan import top-up; daftar rejection dibatasi supaya memory tetap flat
+public record InventoryImportResult(
+        long totalRows,
+        long acceptedRows,
+        long rejectedRows,
+        List<Rejection> rejections,
+        boolean rejectionsTruncated
+) {
+    public record Rejection(long line, String reason) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.stationery.dto.response;
+
+/**
+ * Saldo stock satu item, item tanpa baris balance bernilai nol
+ */
+public record ItemStock(Integer itemId, Integer qty) {
+}
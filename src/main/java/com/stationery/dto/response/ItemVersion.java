@@ -0,0 +1,11 @@
+package com.stationery.dto.response;
+
+// Version item dan version stock-nya, cukup untuk membentuk ETag tanpa membangun DTO lengkap
+public record ItemVersion(
+        Long itemVersion,
+        Long stockVersion
+) {
+    public String eTag(Integer itemId) {
+        return STR."\"item-\{itemId}-v\{itemVersion}-s\{stockVersion}\"";
+    }
+}
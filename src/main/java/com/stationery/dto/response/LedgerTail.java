@@ -0,0 +1,9 @@
+package com.stationery.dto.response;
+
+// Ringkasan entry ledger sebuah item setelah checkpoint: jumlah baris, total qty bertanda dan id terakhir
+public record LedgerTail(
+        Long rows,
+        Long qty,
+        Integer lastId
+) {
+}
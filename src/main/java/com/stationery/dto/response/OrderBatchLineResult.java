@@ -0,0 +1,19 @@
+package com.stationery.dto.response;
+
+import com.stationery.dto.OrderDto;
+
+// Hasil per baris batch order, line dimulai dari 1 sesuai urutan di request
+public record OrderBatchLineResult(
+        int line,
+        boolean success,
+        OrderDto order,
+        String message
+) {
+    public static OrderBatchLineResult created(int line, OrderDto order) {
+        return new OrderBatchLineResult(line, true, order, null);
+    }
+
+    public static OrderBatchLineResult failed(int line, String message) {
+        return new OrderBatchLineResult(line, false, null, message);
+    }
+}
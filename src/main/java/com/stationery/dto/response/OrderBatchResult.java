@@ -0,0 +1,18 @@
+package com.stationery.dto.response;
+
+import com.stationery.enums.BatchMode;
+
+import java.util.List;
+
+public record OrderBatchResult(
+        BatchMode mode,
+        int totalCount,
+        int successCount,
+        int failureCount,
+        List<OrderBatchLineResult> results
+) {
+    public static OrderBatchResult of(BatchMode mode, List<OrderBatchLineResult> results) {
+        int successCount = (int) results.stream().filter(OrderBatchLineResult::success).count();
+        return new OrderBatchResult(mode, results.size(), successCount, results.size() - successCount, results);
+    }
+}
@@ -0,0 +1,17 @@
+package com.stationery.dto.response;
+
+import com.stationery.dto.OrderDto;
+
+import java.util.UUID;
+
+/**
+ * Baris keyset pagination order: orderSeq sebagai cursor, order sebagai isi page
+ */
+public record OrderCursorRow(Long orderSeq, OrderDto order) {
+
+    // Dipakai oleh constructor expression JPQL
+    public OrderCursorRow(Long orderSeq, UUID id, String orderNo, Integer itemId, String itemName,
+                          Integer qty, Double price, Double totalPrice) {
+        this(orderSeq, new OrderDto(id, orderNo, itemId, itemName, qty, price, totalPrice));
+    }
+}
@@ -1,10 +1,12 @@
 package com.stationery.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -12,13 +14,17 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL) // Field yang tidak berlaku untuk mode cursor/slice tidak ditampilkan
 public class PageResponse<T> {
     private List<T> content;
-    private int pageNo;
+    private Integer pageNo;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean last;
+    private Boolean hasNext;
+    private Boolean totalEstimated;
+    private String nextCursor;
 
     public static <T> PageResponse<T> fromPage(Page<T> page) {
         return PageResponse.<T>builder()
@@ -30,4 +36,42 @@ public class PageResponse<T> {
                 .last(page.isLast())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Page tanpa total, hanya hasNext dari baris size + 1
+     */
+    public static <T> PageResponse<T> fromSlice(Slice<T> slice) {
+        return PageResponse.<T>builder()
+                .content(slice.getContent())
+                .pageNo(slice.getNumber())
+                .pageSize(slice.getSize())
+                .last(slice.isLast())
+                .hasNext(slice.hasNext())
+                .build();
+    }
+
+    /**
+     * Page tanpa COUNT dengan total perkiraan dari cache
+     */
+    public static <T> PageResponse<T> fromSlice(Slice<T> slice, long estimatedTotal) {
+        PageResponse<T> response = fromSlice(slice);
+        // Total dari cache bisa tertinggal, jangan sampai lebih kecil dari baris yang sudah terlihat
+        long seen = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0)
+                : slice.getNumberOfElements();
+        long total = Math.max(estimatedTotal, seen);
+        response.setTotalElements(total);
+        response.setTotalPages(slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize()));
+        response.setTotalEstimated(true);
+        return response;
+    }
+
+    public static <T> PageResponse<T> fromCursorPage(CursorPage<T> page) {
+        return PageResponse.<T>builder()
+                .content(page.content())
+                .pageSize(page.size())
+                .last(page.nextCursor() == null)
+                .nextCursor(page.nextCursor())
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+package com.stationery.dto.response;
+
+import java.time.LocalDateTime;
+
+// Event outbox yang belum diproyeksikan: jumlah dan waktu event tertua (null jika tidak ada)
+public record PendingStockEvents(
+        Long count,
+        LocalDateTime oldestCreatedAt
+) {
+}
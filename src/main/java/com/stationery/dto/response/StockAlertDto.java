@@ -0,0 +1,14 @@
+package com.stationery.dto.response;
+
+import java.time.LocalDateTime;
+
+// Threshold reorder item beserta status low dari evaluasi terakhir
+public record StockAlertDto(
+        Integer itemId,
+        String itemName,
+        Integer qty,
+        Integer threshold,
+        Boolean low,
+        LocalDateTime lowSince
+) {
+}
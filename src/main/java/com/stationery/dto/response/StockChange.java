@@ -0,0 +1,10 @@
+package com.stationery.dto.response;
+
+import com.stationery.enums.InventoryType;
+
+/**
+ * Perubahan saldo stock satu item, delta bernilai negatif untuk withdrawal dan order.
+ * Dipublikasikan sebagai application event dan dikirim ke subscriber stream setelah commit.
+ */
+public record StockChange(Integer itemId, InventoryType type, int delta) {
+}
@@ -0,0 +1,10 @@
+package com.stationery.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hasil lookup stock banyak item: stock per item id (urutan sesuai request) dan id yang tidak ditemukan
+ */
+public record StockLookupResult(Map<Integer, Integer> stocks, List<Integer> unknownItemIds) {
+}
@@ -0,0 +1,17 @@
+package com.stationery.dto.response;
+
+import java.time.LocalDateTime;
+
+// Stock dari read model beserta lag-nya terhadap outbox
+public record StockProjectionDto(
+        Integer itemId,
+        Integer qty,
+        Long topUpQty,
+        Long withdrawalQty,
+        Long topUpCount,
+        Long withdrawalCount,
+        LocalDateTime updatedAt,
+        Long pendingEvents,
+        Long lagMillis
+) {
+}
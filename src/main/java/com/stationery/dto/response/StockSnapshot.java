@@ -0,0 +1,11 @@
+package com.stationery.dto.response;
+
+// Stock item beserta version-nya, version berubah di setiap perubahan ledger item tersebut
+public record StockSnapshot(
+        Integer qty,
+        Long version
+) {
+    public String eTag(Integer itemId) {
+        return STR."\"stock-\{itemId}-v\{version}\"";
+    }
+}
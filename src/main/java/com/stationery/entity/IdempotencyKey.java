@@ -0,0 +1,46 @@
+package com.stationery.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key dari client beserta response yang sudah dikirim. Baris ditulis di transaksi yang sama
+ * dengan order/inventory, sehingga key hanya terlihat jika perubahan datanya juga commit.
+ */
+@Entity
+@Table(name = "idempotency_key", indexes = {
+        @Index(name = "idx_idempotency_key_expires_at", columnList = "expires_at") // Cleanup key kedaluwarsa
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    // Endpoint pemilik key, key yang sama tidak boleh dipakai di endpoint lain
+    @Column(nullable = false, length = 100)
+    private String scope;
+
+    // SHA-256 dari request body, key yang sama dengan body berbeda ditolak
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Lob
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
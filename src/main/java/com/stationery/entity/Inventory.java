@@ -11,7 +11,10 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 @Entity
-@Table(name = "inventory")
+@Table(name = "inventory", indexes = {
+        @Index(name = "idx_inventory_item_id", columnList = "item_id, id"), // Keyset pagination per item
+        @Index(name = "idx_inventory_item_type_qty", columnList = "item_id, type, qty") // Validasi withdrawal terbesar per item
+})
 @Data
 @Builder
 @NoArgsConstructor
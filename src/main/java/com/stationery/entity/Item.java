@@ -6,6 +6,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -14,6 +17,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "item")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item") // Katalog jarang berubah, dibaca di hampir semua write path
 @Data
 @Builder
 @NoArgsConstructor
@@ -33,6 +38,11 @@ public class Item {
     @Column(nullable = false)
     private Double price;
 
+    // Naik setiap kali item di-update, dipakai untuk optimistic locking dan ETag
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @OneToMany(mappedBy = "item", cascade = CascadeType.ALL)
     private List<Inventory> inventories = new ArrayList<>();
 
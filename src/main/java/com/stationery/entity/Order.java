@@ -14,7 +14,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders") // Using "orders" karena "order" adalah reserved keyword di SQL
+@Table(name = "orders", indexes = { // Using "orders" karena "order" adalah reserved keyword di SQL
+        @Index(name = "idx_orders_item_id", columnList = "item_id, order_seq") // Keyset pagination per item
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,6 +32,10 @@ public class Order {
     @Column(name = "order_no", unique = true, nullable = false)
     private String orderNo;
 
+    // Nomor urut dari OrderNumberGenerator (angka di order_no), dipakai sebagai key keyset pagination
+    @Column(name = "order_seq", unique = true, nullable = false)
+    private Long orderSeq;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     @NotNull(message = "Item is required")
@@ -0,0 +1,45 @@
+package com.stationery.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Threshold reorder per item beserta status low terakhir. Status di-evaluasi ulang secara async
+ * setiap kali saldo item berubah, sehingga daftar item low cukup dibaca dari tabel ini.
+ */
+@Entity
+@Table(name = "stock_alert", indexes = {
+        @Index(name = "idx_stock_alert_low", columnList = "low, item_id") // Daftar item yang sedang low
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlert {
+
+    @Id
+    @Column(name = "item_id")
+    private Integer itemId;
+
+    @Column(nullable = false)
+    private Integer threshold;
+
+    // True jika qty < threshold pada evaluasi terakhir
+    @Column(nullable = false)
+    private boolean low;
+
+    @Column(nullable = false)
+    private Integer qty;
+
+    // Version stock_balance yang terakhir dievaluasi, evaluasi dengan version lebih lama diabaikan
+    @Column(name = "stock_version", nullable = false)
+    private Long stockVersion;
+
+    @Column(name = "low_since")
+    private LocalDateTime lowSince;
+}
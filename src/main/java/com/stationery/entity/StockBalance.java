@@ -0,0 +1,35 @@
+package com.stationery.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Saldo stock per item yang di-maintain dalam transaksi yang sama dengan setiap
+ * perubahan ledger di tabel inventory, sehingga cek stock cukup satu primary-key read.
+ */
+@Entity
+@Table(name = "stock_balance")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockBalance {
+
+    @Id
+    @Column(name = "item_id")
+    private Integer itemId;
+
+    @Column(nullable = false)
+    private Integer qty;
+
+    // Naik di setiap perubahan qty (lewat bulk update), dipakai sebagai ETag stock
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long version = 0L;
+}
@@ -0,0 +1,32 @@
+package com.stationery.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+
+/**
+ * Saldo stock item pada posisi ledger tertentu. Stock dari ledger cukup dihitung dari
+ * checkpoint ditambah entry inventory dengan id setelah ledger_id, bukan seluruh ledger.
+ */
+@Entity
+@Table(name = "stock_checkpoint")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockCheckpoint {
+
+    @Id
+    @Column(name = "item_id")
+    private Integer itemId;
+
+    // Id inventory terakhir yang sudah termasuk di qty
+    @Column(name = "ledger_id", nullable = false)
+    private Integer ledgerId;
+
+    @Column(nullable = false)
+    private Integer qty;
+}
@@ -0,0 +1,47 @@
+package com.stationery.entity;
+
+import com.stationery.enums.InventoryType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox perubahan stock, ditulis di transaksi yang sama dengan perubahan ledger dan balance.
+ * Event dibaca lalu dihapus oleh projector yang meng-update read model stock_projection.
+ */
+@Entity
+@Table(name = "stock_event", indexes = {
+        @Index(name = "idx_stock_event_item_id", columnList = "item_id") // Lag projection per item
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Integer itemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InventoryType type;
+
+    // Negatif jika entry ledger di-revert (update atau delete)
+    @Column(nullable = false)
+    private Integer qty;
+
+    // Jumlah entry ledger yang diwakili event ini, -1 untuk revert
+    @Column(nullable = false)
+    private Integer entries;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
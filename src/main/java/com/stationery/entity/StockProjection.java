@@ -0,0 +1,42 @@
+package com.stationery.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Read model stock dan counter pergerakan per item, di-maintain secara async dari outbox stock_event
+ */
+@Entity
+@Table(name = "stock_projection")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockProjection {
+
+    @Id
+    @Column(name = "item_id")
+    private Integer itemId;
+
+    @Column(nullable = false)
+    private Integer qty;
+
+    @Column(nullable = false)
+    private Long topUpQty;
+
+    @Column(nullable = false)
+    private Long withdrawalQty;
+
+    @Column(nullable = false)
+    private Long topUpCount;
+
+    @Column(nullable = false)
+    private Long withdrawalCount;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,10 @@
+package com.stationery.enums;
+
+/**
+ * ALL_OR_NOTHING = Semua baris batch ditolak jika ada satu baris yang gagal
+ * BEST_EFFORT = Baris yang valid tetap diproses, baris yang gagal dilaporkan
+ */
+public enum BatchMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
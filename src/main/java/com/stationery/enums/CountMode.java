@@ -0,0 +1,12 @@
+package com.stationery.enums;
+
+/**
+ * EXACT = Total dihitung dengan COUNT setiap request (default, sama seperti sebelumnya)
+ * NONE = Tanpa COUNT, hanya mengambil size + 1 baris untuk menentukan hasNext
+ * CACHED = Seperti NONE, ditambah total perkiraan yang di-refresh di background
+ */
+public enum CountMode {
+    EXACT,
+    NONE,
+    CACHED
+}
@@ -0,0 +1,33 @@
+package com.stationery.enums;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Format data untuk import/export streaming
+ * CSV = comma separated values dengan header
+ * NDJSON = satu object JSON per baris
+ */
+public enum DataFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    DataFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return MediaType.parseMediaType(mediaType);
+    }
+
+    /**
+     * Resolve the format from a Content-Type header, defaulting to CSV
+     */
+    public static DataFormat fromContentType(String contentType) {
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(NDJSON.getMediaType())) {
+            return NDJSON;
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,56 @@
+package com.stationery.repository;
+
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.OrderDto;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.function.Consumer;
+
+/**
+ * Membaca seluruh tabel orders/inventory lewat forward-only cursor untuk export.
+ * Hasil langsung di-project ke DTO sehingga tidak ada entity yang menumpuk di persistence context.
+ * Harus dipanggil di dalam transaksi read-only.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExportRepository {
+
+    private static final String ORDER_SELECT =
+            "SELECT new com.stationery.dto.OrderDto(o.id, o.orderNo, i.id, i.name, o.qty, o.price, o.qty * o.price) " +
+            "FROM Order o JOIN o.item i";
+
+    private static final String INVENTORY_SELECT =
+            "SELECT new com.stationery.dto.InventoryDto(inv.id, i.id, i.name, inv.qty, inv.type, o.id) " +
+            "FROM Inventory inv JOIN inv.item i LEFT JOIN inv.order o";
+
+    private final EntityManager entityManager;
+
+    public void scrollOrders(Integer itemId, int fetchSize, Consumer<OrderDto> consumer) {
+        String hql = ORDER_SELECT + (itemId != null ? " WHERE i.id = :itemId" : "") + " ORDER BY o.orderSeq";
+        scroll(entityManager.unwrap(Session.class).createSelectionQuery(hql, OrderDto.class), itemId, fetchSize, consumer);
+    }
+
+    public void scrollInventories(Integer itemId, int fetchSize, Consumer<InventoryDto> consumer) {
+        String hql = INVENTORY_SELECT + (itemId != null ? " WHERE i.id = :itemId" : "") + " ORDER BY inv.id";
+        scroll(entityManager.unwrap(Session.class).createSelectionQuery(hql, InventoryDto.class), itemId, fetchSize, consumer);
+    }
+
+    private <T> void scroll(SelectionQuery<T> query, Integer itemId, int fetchSize, Consumer<T> consumer) {
+        query.setFetchSize(fetchSize);
+        query.setReadOnly(true);
+        if (itemId != null) {
+            query.setParameter("itemId", itemId);
+        }
+        try (ScrollableResults<T> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                consumer.accept(results.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.stationery.repository;
+
+import com.stationery.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Claim a key. Insert yang sama dari request lain menunggu sampai transaksi ini selesai,
+     * lalu gagal dengan duplicate key jika transaksi ini commit.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_key (idempotency_key, scope, request_hash, created_at, expires_at) " +
+            "VALUES (:key, :scope, :requestHash, :createdAt, :expiresAt)", nativeQuery = true)
+    int insert(@Param("key") String key, @Param("scope") String scope, @Param("requestHash") String requestHash,
+               @Param("createdAt") LocalDateTime createdAt, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.responseBody = :responseBody WHERE k.idempotencyKey = :key")
+    int saveResponse(@Param("key") String key, @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.idempotencyKey = :key AND k.expiresAt < :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
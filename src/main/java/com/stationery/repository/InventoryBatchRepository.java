@@ -0,0 +1,31 @@
+package com.stationery.repository;
+
+import com.stationery.dto.InventoryImportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JDBC batch insert untuk entry inventory dalam jumlah besar
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryBatchRepository {
+
+    private static final String INSERT_TOP_UP_SQL =
+            "INSERT INTO inventory (item_id, qty, type, order_id) VALUES (?, ?, 'T', NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert top-up entries in one JDBC batch
+     */
+    public void insertTopUps(List<InventoryImportRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_TOP_UP_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setInt(1, row.itemId());
+            ps.setInt(2, row.qty());
+        });
+    }
+}
@@ -1,29 +1,79 @@
 package com.stationery.repository;
 
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.response.LedgerTail;
 import com.stationery.entity.Inventory;
+import com.stationery.enums.InventoryType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Integer> {
 
-    List<Inventory> findByItemId(Integer itemId);
+    // Projection langsung ke InventoryDto dengan join ke item, order id dibaca dari foreign key tanpa join
+    String DTO_SELECT = "SELECT new com.stationery.dto.InventoryDto(v.id, i.id, i.name, v.qty, v.type, v.order.id) " +
+            "FROM Inventory v JOIN v.item i ";
 
-    Page<Inventory> findByItemId(Integer itemId, Pageable pageable);
+    @Query(DTO_SELECT + "WHERE v.id = :id")
+    Optional<InventoryDto> findDtoById(@Param("id") Integer id);
+
+    @Query(value = DTO_SELECT, countQuery = "SELECT COUNT(v) FROM Inventory v")
+    Page<InventoryDto> findDtoPage(Pageable pageable);
+
+    @Query(value = DTO_SELECT + "WHERE i.id = :itemId",
+            countQuery = "SELECT COUNT(v) FROM Inventory v WHERE v.item.id = :itemId")
+    Page<InventoryDto> findDtoPageByItemId(@Param("itemId") Integer itemId, Pageable pageable);
+
+    // Slice: ambil size + 1 baris tanpa count query
+    @Query(DTO_SELECT)
+    Slice<InventoryDto> findDtoSlice(Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.id = :itemId")
+    Slice<InventoryDto> findDtoSliceByItemId(@Param("itemId") Integer itemId, Pageable pageable);
+
+    long countByItemId(Integer itemId);
+
+    // Keyset pagination berdasarkan id, tanpa offset scan dan tanpa count query
+    @Query(DTO_SELECT + "ORDER BY v.id")
+    List<InventoryDto> findDtoFirstPage(Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE v.id > :id ORDER BY v.id")
+    List<InventoryDto> findDtoPageAfter(@Param("id") Integer id, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.id = :itemId ORDER BY v.id")
+    List<InventoryDto> findDtoFirstPageByItemId(@Param("itemId") Integer itemId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.id = :itemId AND v.id > :id ORDER BY v.id")
+    List<InventoryDto> findDtoPageByItemIdAfter(@Param("itemId") Integer itemId, @Param("id") Integer id, Pageable pageable);
+
+    List<Inventory> findByOrderId(UUID orderId);
 
     void deleteByOrderId(UUID orderId);
 
     /**
-     * Calculate the remaining stock quantity for an item
+     * Summarize the ledger entries of an item after a checkpoint
+     */
+    @Query("SELECT new com.stationery.dto.response.LedgerTail(COUNT(i), COALESCE(SUM(CASE WHEN i.type = 'T' THEN i.qty ELSE -i.qty END), 0L), MAX(i.id)) " +
+            "FROM Inventory i WHERE i.item.id = :itemId AND i.id > :afterId")
+    LedgerTail summarizeLedgerAfter(@Param("itemId") Integer itemId, @Param("afterId") Integer afterId);
+
+    /**
+     * Calculate the stock change of an item after a checkpoint without one ledger entry
      */
     @Query("SELECT COALESCE(SUM(CASE WHEN i.type = 'T' THEN i.qty ELSE -i.qty END), 0) " +
-            "FROM Inventory i WHERE i.item.id = :itemId")
-    Integer calculateRemainingStock(@Param("itemId") Integer itemId);
+            "FROM Inventory i WHERE i.item.id = :itemId AND i.id > :afterId AND i.id <> :excludedId")
+    Integer calculateStockChangeAfterExcluding(@Param("itemId") Integer itemId, @Param("afterId") Integer afterId,
+                                               @Param("excludedId") Integer excludedId);
+
+    // Cek apakah ada entry lain dengan qty lebih besar, cukup membaca satu baris index (item_id, type, qty)
+    boolean existsByItemIdAndTypeAndQtyGreaterThanAndIdNot(Integer itemId, InventoryType type, Integer qty, Integer id);
 }
\ No newline at end of file
@@ -1,15 +1,65 @@
 package com.stationery.repository;
 
+import com.stationery.dto.response.ItemStock;
+import com.stationery.dto.response.ItemVersion;
+import com.stationery.dto.response.ItemWithStockDto;
 import com.stationery.entity.Item;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Integer> {
 
     // Periksa relasi item dengan inventory
     @Query("SELECT CASE WHEN COUNT(i) > 0 THEN true ELSE false END FROM Item item JOIN item.inventories i WHERE item.id = :id")
     boolean hasInventories(@Param("id") Integer id);
+
+    // Keyset per id untuk job yang memproses item secara bertahap
+    @Query("SELECT i.id FROM Item i WHERE i.id > :id ORDER BY i.id")
+    List<Integer> findIdsAfter(@Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Return which of the given item ids exist
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.id IN :ids")
+    Set<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Read the stock balances of several items with one query, id yang tidak ada tidak dikembalikan
+     */
+    @Query("SELECT new com.stationery.dto.response.ItemStock(i.id, COALESCE(s.qty, 0)) " +
+            "FROM Item i LEFT JOIN StockBalance s ON s.itemId = i.id WHERE i.id IN :ids")
+    List<ItemStock> findStocksByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Read the item version and its stock version with one primary-key join
+     */
+    @Query("SELECT new com.stationery.dto.response.ItemVersion(i.version, COALESCE(s.version, 0L)) " +
+            "FROM Item i LEFT JOIN StockBalance s ON s.itemId = i.id WHERE i.id = :id")
+    Optional<ItemVersion> findVersionById(@Param("id") Integer id);
+
+    /**
+     * Get a page of items together with their stock balance in a single query
+     */
+    @Query(value = "SELECT new com.stationery.dto.response.ItemWithStockDto(i.id, i.name, i.price, COALESCE(s.qty, 0)) " +
+            "FROM Item i LEFT JOIN StockBalance s ON s.itemId = i.id",
+            countQuery = "SELECT COUNT(i) FROM Item i")
+    Page<ItemWithStockDto> findAllWithStock(Pageable pageable);
+
+    /**
+     * Same as findAllWithStock but without the count query, hanya size + 1 baris
+     */
+    @Query("SELECT new com.stationery.dto.response.ItemWithStockDto(i.id, i.name, i.price, COALESCE(s.qty, 0)) " +
+            "FROM Item i LEFT JOIN StockBalance s ON s.itemId = i.id")
+    Slice<ItemWithStockDto> findSliceWithStock(Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.stationery.repository;
+
+import com.stationery.entity.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JDBC batch insert untuk pembuatan order dalam jumlah besar.
+ * Dipakai di dalam transaksi JPA yang sedang berjalan (connection yang sama).
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderBatchRepository {
+
+    private static final String INSERT_ORDER_SQL =
+            "INSERT INTO orders (id, order_no, order_seq, item_id, qty, price) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_WITHDRAWAL_SQL =
+            "INSERT INTO inventory (item_id, qty, type, order_id) VALUES (?, ?, 'W', ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${order.batch.jdbc-batch-size:100}")
+    private int jdbcBatchSize;
+
+    /**
+     * Insert orders that already have their id and order number assigned
+     */
+    public void insertOrders(List<Order> orders) {
+        jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, orders, jdbcBatchSize, (ps, order) -> {
+            ps.setObject(1, order.getId());
+            ps.setString(2, order.getOrderNo());
+            ps.setLong(3, order.getOrderSeq());
+            ps.setInt(4, order.getItem().getId());
+            ps.setInt(5, order.getQty());
+            ps.setDouble(6, order.getPrice());
+        });
+    }
+
+    /**
+     * Insert one withdrawal inventory entry per order
+     */
+    public void insertWithdrawals(List<Order> orders) {
+        jdbcTemplate.batchUpdate(INSERT_WITHDRAWAL_SQL, orders, jdbcBatchSize, (ps, order) -> {
+            ps.setInt(1, order.getItem().getId());
+            ps.setInt(2, order.getQty());
+            ps.setObject(3, order.getId());
+        });
+    }
+}
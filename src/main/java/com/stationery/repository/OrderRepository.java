@@ -1,14 +1,61 @@
 package com.stationery.repository;
 
+import com.stationery.dto.OrderDto;
+import com.stationery.dto.response.OrderCursorRow;
 import com.stationery.entity.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
-    Page<Order> findByItemId(Integer itemId, Pageable pageable);
-}
\ No newline at end of file
+
+    // Projection langsung ke OrderDto dengan join ke item, tanpa managed entity dan lazy load per baris
+    String DTO_SELECT = "SELECT new com.stationery.dto.OrderDto(o.id, o.orderNo, i.id, i.name, o.qty, o.price, o.qty * o.price) " +
+            "FROM Order o JOIN o.item i ";
+
+    @Query(DTO_SELECT + "WHERE o.id = :id")
+    Optional<OrderDto> findDtoById(@Param("id") UUID id);
+
+    @Query(value = DTO_SELECT, countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<OrderDto> findDtoPage(Pageable pageable);
+
+    @Query(value = DTO_SELECT + "WHERE i.id = :itemId",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.item.id = :itemId")
+    Page<OrderDto> findDtoPageByItemId(@Param("itemId") Integer itemId, Pageable pageable);
+
+    // Slice: ambil size + 1 baris tanpa count query
+    @Query(DTO_SELECT)
+    Slice<OrderDto> findDtoSlice(Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.id = :itemId")
+    Slice<OrderDto> findDtoSliceByItemId(@Param("itemId") Integer itemId, Pageable pageable);
+
+    long countByItemId(Integer itemId);
+
+    // Keyset pagination berdasarkan orderSeq (urutan pembuatan order), tanpa offset scan dan tanpa count query.
+    // Id order adalah UUID acak sehingga tidak bisa dipakai sebagai key
+    String CURSOR_SELECT = "SELECT new com.stationery.dto.response.OrderCursorRow(o.orderSeq, o.id, o.orderNo, i.id, i.name, o.qty, o.price, o.qty * o.price) " +
+            "FROM Order o JOIN o.item i ";
+
+    @Query(CURSOR_SELECT + "ORDER BY o.orderSeq")
+    List<OrderCursorRow> findCursorFirstPage(Pageable pageable);
+
+    @Query(CURSOR_SELECT + "WHERE o.orderSeq > :orderSeq ORDER BY o.orderSeq")
+    List<OrderCursorRow> findCursorPageAfter(@Param("orderSeq") Long orderSeq, Pageable pageable);
+
+    @Query(CURSOR_SELECT + "WHERE i.id = :itemId ORDER BY o.orderSeq")
+    List<OrderCursorRow> findCursorFirstPageByItemId(@Param("itemId") Integer itemId, Pageable pageable);
+
+    @Query(CURSOR_SELECT + "WHERE i.id = :itemId AND o.orderSeq > :orderSeq ORDER BY o.orderSeq")
+    List<OrderCursorRow> findCursorPageByItemIdAfter(@Param("itemId") Integer itemId, @Param("orderSeq") Long orderSeq,
+                                                     Pageable pageable);
+}
@@ -0,0 +1,33 @@
+package com.stationery.repository;
+
+import com.stationery.dto.response.StockAlertDto;
+import com.stationery.entity.StockAlert;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StockAlertRepository extends JpaRepository<StockAlert, Integer> {
+
+    /**
+     * Lock the alert of an item so concurrent evaluations of the same item are serialized
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM StockAlert a WHERE a.itemId = :itemId")
+    Optional<StockAlert> findForUpdate(@Param("itemId") Integer itemId);
+
+    /**
+     * Get a page of items that are currently below their threshold, lewat index (low, item_id)
+     */
+    @Query(value = "SELECT new com.stationery.dto.response.StockAlertDto(a.itemId, i.name, a.qty, a.threshold, a.low, a.lowSince) " +
+            "FROM StockAlert a JOIN Item i ON i.id = a.itemId WHERE a.low = true",
+            countQuery = "SELECT COUNT(a) FROM StockAlert a WHERE a.low = true")
+    Page<StockAlertDto> findLowPage(Pageable pageable);
+}
@@ -0,0 +1,102 @@
+package com.stationery.repository;
+
+import com.stationery.dto.response.StockSnapshot;
+import com.stationery.entity.StockBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockBalanceRepository extends JpaRepository<StockBalance, Integer> {
+
+    /**
+     * Read the current stock for an item with a single primary-key lookup
+     */
+    @Query("SELECT s.qty FROM StockBalance s WHERE s.itemId = :itemId")
+    Optional<Integer> findQtyByItemId(@Param("itemId") Integer itemId);
+
+    /**
+     * Read the current stock and its version with a single primary-key lookup
+     */
+    @Query("SELECT new com.stationery.dto.response.StockSnapshot(s.qty, s.version) FROM StockBalance s WHERE s.itemId = :itemId")
+    Optional<StockSnapshot> findSnapshotByItemId(@Param("itemId") Integer itemId);
+
+    /**
+     * Lock the balance rows of several items for the rest of the transaction.
+     * Diurutkan berdasarkan item_id supaya urutan lock konsisten dan tidak deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StockBalance s WHERE s.itemId IN :itemIds ORDER BY s.itemId")
+    List<StockBalance> findAllForUpdate(@Param("itemIds") Collection<Integer> itemIds);
+
+    /**
+     * Apply a signed delta to the stock balance of an item
+     * @return number of rows updated, 0 if the item has no balance row yet
+     */
+    @Modifying
+    @Query("UPDATE StockBalance s SET s.qty = s.qty + :delta, s.version = s.version + 1 WHERE s.itemId = :itemId")
+    int adjust(@Param("itemId") Integer itemId, @Param("delta") int delta);
+
+    /**
+     * Atomically take stock from an item only if enough is available.
+     * The conditional update row-locks just this item's balance until commit.
+     * @return 1 if the stock was reserved, 0 if the balance is insufficient
+     */
+    @Modifying
+    @Query("UPDATE StockBalance s SET s.qty = s.qty - :qty, s.version = s.version + 1 WHERE s.itemId = :itemId AND s.qty >= :qty")
+    int reserve(@Param("itemId") Integer itemId, @Param("qty") int qty);
+
+    /**
+     * Apply a signed delta to an item, creating its balance row if it does not exist yet.
+     * Satu statement MERGE, tidak ada celah antara cek dan insert.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO stock_balance b USING (VALUES (CAST(:itemId AS INTEGER), CAST(:delta AS INTEGER))) d (item_id, delta) " +
+            "ON b.item_id = d.item_id " +
+            "WHEN MATCHED THEN UPDATE SET qty = b.qty + d.delta, version = b.version + 1 " +
+            "WHEN NOT MATCHED THEN INSERT (item_id, qty, version) VALUES (d.item_id, d.delta, 0)", nativeQuery = true)
+    int upsert(@Param("itemId") Integer itemId, @Param("delta") int delta);
+
+    /**
+     * Lock every balance row in item_id order, writer yang masih berjalan ditunggu sampai commit
+     */
+    @Query(value = "SELECT item_id FROM stock_balance ORDER BY item_id FOR UPDATE", nativeQuery = true)
+    List<Integer> lockAll();
+
+    /**
+     * Recompute the balances in place from the inventory ledger.
+     * Version dinaikkan supaya ETag sebelum rebuild tidak cocok lagi.
+     */
+    @Modifying
+    @Query(value = "UPDATE stock_balance b SET " +
+            "qty = (SELECT COALESCE(SUM(CASE WHEN inv.type = 'T' THEN inv.qty ELSE -inv.qty END), 0) " +
+            "FROM inventory inv WHERE inv.item_id = b.item_id), " +
+            "version = b.version + 1", nativeQuery = true)
+    int updateBalancesFromLedger();
+
+    /**
+     * Create the balances of items that have no balance row yet from the inventory ledger
+     */
+    @Modifying
+    @Query(value = "INSERT INTO stock_balance (item_id, qty, version) " +
+            "SELECT it.id, COALESCE(SUM(CASE WHEN inv.type = 'T' THEN inv.qty ELSE -inv.qty END), 0), :version " +
+            "FROM item it LEFT JOIN inventory inv ON inv.item_id = it.id " +
+            "WHERE NOT EXISTS (SELECT 1 FROM stock_balance b WHERE b.item_id = it.id) " +
+            "GROUP BY it.id", nativeQuery = true)
+    int insertMissingBalancesFromLedger(@Param("version") long version);
+
+    /**
+     * Remove balance rows whose item no longer exists
+     */
+    @Modifying
+    @Query(value = "DELETE FROM stock_balance b WHERE NOT EXISTS (SELECT 1 FROM item it WHERE it.id = b.item_id)", nativeQuery = true)
+    int deleteOrphanBalances();
+}
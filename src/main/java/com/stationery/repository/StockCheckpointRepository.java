@@ -0,0 +1,36 @@
+package com.stationery.repository;
+
+import com.stationery.entity.StockCheckpoint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockCheckpointRepository extends JpaRepository<StockCheckpoint, Integer> {
+
+    /**
+     * Apply a signed delta to the checkpoint of an item if it already includes the given ledger entry
+     * @return number of rows updated, 0 if the entry is after the checkpoint
+     */
+    @Modifying
+    @Query("UPDATE StockCheckpoint c SET c.qty = c.qty + :delta WHERE c.itemId = :itemId AND c.ledgerId >= :inventoryId")
+    int adjust(@Param("itemId") Integer itemId, @Param("inventoryId") Integer inventoryId, @Param("delta") int delta);
+
+    // Keyset per item_id untuk verifikasi bertahap
+    @Query("SELECT c.itemId FROM StockCheckpoint c WHERE c.itemId > :itemId ORDER BY c.itemId")
+    List<Integer> findItemIdsAfter(@Param("itemId") Integer itemId, Pageable pageable);
+
+    /**
+     * Find the checkpoints whose qty differs from a full recompute of the ledger up to their ledger id
+     */
+    @Query(value = "SELECT c.item_id FROM stock_checkpoint c WHERE c.item_id IN :itemIds AND c.qty <> (" +
+            "SELECT COALESCE(SUM(CASE WHEN inv.type = 'T' THEN inv.qty ELSE -inv.qty END), 0) " +
+            "FROM inventory inv WHERE inv.item_id = c.item_id AND inv.id <= c.ledger_id)", nativeQuery = true)
+    List<Integer> findMismatchedItemIds(@Param("itemIds") Collection<Integer> itemIds);
+}
@@ -0,0 +1,40 @@
+package com.stationery.repository;
+
+import com.stationery.dto.response.PendingStockEvents;
+import com.stationery.entity.StockEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockEventRepository extends JpaRepository<StockEvent, Long> {
+
+    /**
+     * Lock the oldest outbox events so only one projector consumes them
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM StockEvent e ORDER BY e.id")
+    List<StockEvent> findOldestForUpdate(Pageable pageable);
+
+    /**
+     * Count the events of an item that are not projected yet
+     */
+    @Query("SELECT new com.stationery.dto.response.PendingStockEvents(COUNT(e), MIN(e.createdAt)) " +
+            "FROM StockEvent e WHERE e.itemId = :itemId")
+    PendingStockEvents summarizePending(@Param("itemId") Integer itemId);
+
+    @Modifying
+    @Query(value = "DELETE FROM stock_event", nativeQuery = true)
+    void deleteAllEvents();
+
+    @Modifying
+    @Query("DELETE FROM StockEvent e WHERE e.itemId = :itemId")
+    void deleteByItemId(@Param("itemId") Integer itemId);
+}
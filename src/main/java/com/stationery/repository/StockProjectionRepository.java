@@ -0,0 +1,31 @@
+package com.stationery.repository;
+
+import com.stationery.entity.StockProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockProjectionRepository extends JpaRepository<StockProjection, Integer> {
+
+    @Modifying
+    @Query(value = "DELETE FROM stock_projection", nativeQuery = true)
+    void deleteAllProjections();
+
+    /**
+     * Recompute the projection of all items from the inventory ledger
+     */
+    @Modifying
+    @Query(value = "INSERT INTO stock_projection " +
+            "(item_id, qty, top_up_qty, withdrawal_qty, top_up_count, withdrawal_count, updated_at) " +
+            "SELECT it.id, " +
+            "COALESCE(SUM(CASE WHEN inv.type = 'T' THEN inv.qty ELSE -inv.qty END), 0), " +
+            "COALESCE(SUM(CASE WHEN inv.type = 'T' THEN inv.qty ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN inv.type = 'W' THEN inv.qty ELSE 0 END), 0), " +
+            "COUNT(CASE WHEN inv.type = 'T' THEN 1 END), " +
+            "COUNT(CASE WHEN inv.type = 'W' THEN 1 END), " +
+            "CURRENT_TIMESTAMP " +
+            "FROM item it LEFT JOIN inventory inv ON inv.item_id = it.id GROUP BY it.id", nativeQuery = true)
+    int insertProjectionsFromLedger();
+}
@@ -0,0 +1,68 @@
+package com.stationery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.OrderDto;
+import com.stationery.enums.DataFormat;
+import com.stationery.repository.ExportRepository;
+import com.stationery.util.ExportWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Export seluruh orders dan inventory ledger secara streaming dengan memory konstan
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final String[] ORDER_HEADER = {"id", "orderNo", "itemId", "itemName", "qty", "price", "totalPrice"};
+    private static final String[] INVENTORY_HEADER = {"id", "itemId", "itemName", "qty", "type", "orderId"};
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${export.fetch-size:500}")
+    private int defaultFetchSize;
+
+    @Value("${export.max-fetch-size:5000}")
+    private int maxFetchSize;
+
+    /**
+     * Stream all orders, optionally only for one item
+     */
+    @Transactional(readOnly = true)
+    public void exportOrders(Integer itemId, DataFormat format, Integer fetchSize, OutputStream outputStream) throws IOException {
+        log.debug("Exporting orders, item ID: {}, format: {}", itemId, format);
+        try (ExportWriter<OrderDto> writer = new ExportWriter<>(outputStream, format, objectMapper, ORDER_HEADER,
+                order -> new Object[]{order.getId(), order.getOrderNo(), order.getItemId(), order.getItemName(),
+                        order.getQty(), order.getPrice(), order.getTotalPrice()})) {
+            exportRepository.scrollOrders(itemId, resolveFetchSize(fetchSize), writer::write);
+        }
+    }
+
+    /**
+     * Stream the whole inventory ledger, optionally only for one item
+     */
+    @Transactional(readOnly = true)
+    public void exportInventories(Integer itemId, DataFormat format, Integer fetchSize, OutputStream outputStream) throws IOException {
+        log.debug("Exporting inventories, item ID: {}, format: {}", itemId, format);
+        try (ExportWriter<InventoryDto> writer = new ExportWriter<>(outputStream, format, objectMapper, INVENTORY_HEADER,
+                inventory -> new Object[]{inventory.getId(), inventory.getItemId(), inventory.getItemName(),
+                        inventory.getQty(), inventory.getType(), inventory.getOrderId()})) {
+            exportRepository.scrollInventories(itemId, resolveFetchSize(fetchSize), writer::write);
+        }
+    }
+
+    // Fetch size dari client dibatasi supaya satu batch baris dari driver tetap kecil
+    int resolveFetchSize(Integer fetchSize) {
+        return fetchSize != null && fetchSize > 0 ? Math.min(fetchSize, maxFetchSize) : defaultFetchSize;
+    }
+}
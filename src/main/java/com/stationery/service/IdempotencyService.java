@@ -0,0 +1,156 @@
+package com.stationery.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stationery.dto.response.IdempotentResult;
+import com.stationery.entity.IdempotencyKey;
+import com.stationery.exception.BusinessLogicException;
+import com.stationery.exception.IdempotencyConflictException;
+import com.stationery.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key untuk POST yang menulis data. Key di-claim dengan insert di transaksi yang sama
+ * dengan action, sehingga request duplikat yang bersamaan menunggu lock baris key lalu me-replay
+ * response yang tersimpan. Action yang gagal ikut me-rollback key, retry akan menjalankan ulang action.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final long ttlSeconds;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * Run the action once per key, or replay the stored response if the key was already used.
+     * Tanpa key action langsung dijalankan.
+     */
+    public <T> IdempotentResult<T> execute(String key, String scope, Object request,
+                                           Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return new IdempotentResult<>(action.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessLogicException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(request);
+        try {
+            return transactionTemplate.execute(status -> {
+                claim(key, scope, requestHash);
+                T response = action.get();
+                idempotencyKeyRepository.saveResponse(key, toJson(response));
+                return new IdempotentResult<>(response, false);
+            });
+        } catch (KeyClaimException ex) {
+            if (ex.getCause() instanceof PessimisticLockingFailureException) {
+                throw new IdempotencyConflictException("A request with the same Idempotency-Key is still being processed, please retry");
+            }
+            // Key sudah di-commit oleh request lain (retry atau duplikat yang berjalan bersamaan)
+            IdempotencyKey stored = idempotencyKeyRepository.findById(key).orElseThrow(() -> ex.getCause());
+            log.debug("Replaying response for Idempotency-Key: {}", key);
+            return replay(stored, scope, requestHash, responseType);
+        }
+    }
+
+    /**
+     * Delete keys whose TTL has passed
+     * @return number of keys deleted
+     */
+    @Transactional
+    public int deleteExpiredKeys() {
+        int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired idempotency keys", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Claim the key. Hanya error dari claim yang diterjemahkan, error dari action diteruskan apa adanya.
+     */
+    private void claim(String key, String scope, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            idempotencyKeyRepository.deleteIfExpired(key, now);
+            idempotencyKeyRepository.insert(key, scope, requestHash, now, now.plusSeconds(ttlSeconds));
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException ex) {
+            throw new KeyClaimException(ex);
+        }
+    }
+
+    private <T> IdempotentResult<T> replay(IdempotencyKey stored, String scope, String requestHash, Class<T> responseType) {
+        if (!stored.getScope().equals(scope) || !stored.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return new IdempotentResult<>(objectMapper.readValue(stored.getResponseBody(), responseType), true);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored response of Idempotency-Key cannot be read", ex);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Response cannot be stored for Idempotency-Key", ex);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Gagal claim key, membawa error asli dari database
+     */
+    private static class KeyClaimException extends RuntimeException {
+
+        KeyClaimException(DataAccessException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized DataAccessException getCause() {
+            return (DataAccessException) super.getCause();
+        }
+    }
+}
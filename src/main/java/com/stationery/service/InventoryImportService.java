@@ -0,0 +1,229 @@
+package com.stationery.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stationery.dto.InventoryImportRow;
+import com.stationery.dto.response.InventoryImportResult;
+import com.stationery.enums.DataFormat;
+import com.stationery.enums.InventoryType;
+import com.stationery.exception.BusinessLogicException;
+import com.stationery.repository.InventoryBatchRepository;
+import com.stationery.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Import top-up inventory secara streaming dari CSV atau NDJSON.
+ * File dibaca baris per baris dan ditulis per chunk dalam transaksi terpisah,
+ * sehingga pemakaian memory tidak bergantung pada ukuran file.
+ */
+@Service
+@Slf4j
+public class InventoryImportService {
+
+    private final ItemRepository itemRepository;
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final StockBalanceService stockBalanceService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int defaultBatchSize;
+    private final int maxBatchSize;
+    private final int maxReportedRejections;
+
+    public InventoryImportService(ItemRepository itemRepository,
+                                  InventoryBatchRepository inventoryBatchRepository,
+                                  StockBalanceService stockBalanceService,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  @Value("${inventory.import.batch-size:1000}") int defaultBatchSize,
+                                  @Value("${inventory.import.max-batch-size:10000}") int maxBatchSize,
+                                  @Value("${inventory.import.max-reported-rejections:1000}") int maxReportedRejections) {
+        this.itemRepository = itemRepository;
+        this.inventoryBatchRepository = inventoryBatchRepository;
+        this.stockBalanceService = stockBalanceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.defaultBatchSize = defaultBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    /**
+     * Import top-up rows from the given stream.
+     * Chunk yang sudah di-commit tetap tersimpan jika chunk berikutnya gagal karena error database.
+     */
+    public InventoryImportResult importTopUps(InputStream inputStream, DataFormat format, Integer batchSize) throws IOException {
+        // Satu chunk ditahan di memory dan ditulis dalam satu transaksi, jadi ukurannya dibatasi
+        if (batchSize != null && batchSize > maxBatchSize) {
+            throw new BusinessLogicException("batchSize must not be greater than " + maxBatchSize);
+        }
+        int chunkSize = batchSize != null && batchSize > 0 ? batchSize : defaultBatchSize;
+        log.debug("Importing top-ups, format: {}, batch size: {}", format, chunkSize);
+
+        ImportSummary summary = new ImportSummary(maxReportedRejections);
+        List<InventoryImportRow> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank() || (format == DataFormat.CSV && line == 1 && isCsvHeader(text))) {
+                continue;
+            }
+
+            summary.totalRows++;
+            try {
+                InventoryImportRow row = format == DataFormat.NDJSON ? parseNdjson(line, text) : parseCsv(line, text);
+                chunk.add(row);
+            } catch (IllegalArgumentException | IOException ex) {
+                summary.reject(line, ex.getMessage());
+            }
+
+            if (chunk.size() >= chunkSize) {
+                writeChunk(chunk, summary);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, summary);
+        }
+
+        log.info("Imported top-ups: {} accepted, {} rejected", summary.acceptedRows, summary.rejectedRows);
+        return summary.toResult();
+    }
+
+    /**
+     * Resolve item ids for the chunk with one query and write the valid rows
+     */
+    private void writeChunk(List<InventoryImportRow> chunk, ImportSummary summary) {
+        // Total qty per item, item yang totalnya melebihi batas integer ditolak seluruh barisnya di chunk ini
+        Map<Integer, Integer> qtyByItem = new HashMap<>();
+        Map<Integer, Integer> rowsByItem = new HashMap<>();
+        Set<Integer> overflowedIds = new HashSet<>();
+        for (InventoryImportRow row : chunk) {
+            if (overflowedIds.contains(row.itemId())) {
+                continue;
+            }
+            try {
+                qtyByItem.merge(row.itemId(), row.qty(), Math::addExact);
+                rowsByItem.merge(row.itemId(), 1, Integer::sum);
+            } catch (ArithmeticException ex) {
+                overflowedIds.add(row.itemId());
+                qtyByItem.remove(row.itemId());
+                rowsByItem.remove(row.itemId());
+            }
+        }
+
+        Set<Integer> acceptedIds = qtyByItem.isEmpty() ? Set.of() : transactionTemplate.execute(status -> {
+            Set<Integer> existingIds = itemRepository.findExistingIds(qtyByItem.keySet());
+            List<InventoryImportRow> validRows = chunk.stream()
+                    .filter(row -> qtyByItem.containsKey(row.itemId()) && existingIds.contains(row.itemId()))
+                    .toList();
+            if (validRows.isEmpty()) {
+                return Set.of();
+            }
+
+            // Balance di-update sekali per item sebelum ledger di-insert
+            qtyByItem.forEach((itemId, qty) -> {
+                if (existingIds.contains(itemId)) {
+                    stockBalanceService.apply(itemId, InventoryType.T, qty, rowsByItem.get(itemId));
+                }
+            });
+
+            inventoryBatchRepository.insertTopUps(validRows);
+            return validRows.stream()
+                    .map(InventoryImportRow::itemId)
+                    .collect(Collectors.toSet());
+        });
+
+        for (InventoryImportRow row : chunk) {
+            if (acceptedIds.contains(row.itemId())) {
+                summary.acceptedRows++;
+            } else if (overflowedIds.contains(row.itemId())) {
+                summary.reject(row.line(), String.format("Total qty of item '%s' in one batch exceeds %d", row.itemId(), Integer.MAX_VALUE));
+            } else {
+                summary.reject(row.line(), String.format("Item not found with id: '%s'", row.itemId()));
+            }
+        }
+    }
+
+    private InventoryImportRow parseCsv(long line, String text) {
+        String[] columns = text.split(",");
+        if (columns.length != 2) {
+            throw new IllegalArgumentException("Expected 2 columns: itemId,qty");
+        }
+        return toRow(line, columns[0].trim(), columns[1].trim());
+    }
+
+    private InventoryImportRow parseNdjson(long line, String text) throws IOException {
+        JsonNode node = objectMapper.readTree(text);
+        if (node == null || !node.hasNonNull("itemId") || !node.hasNonNull("qty")) {
+            throw new IllegalArgumentException("Fields itemId and qty are required");
+        }
+        return toRow(line, node.get("itemId").asText(), node.get("qty").asText());
+    }
+
+    private InventoryImportRow toRow(long line, String itemId, String qty) {
+        try {
+            int parsedQty = Integer.parseInt(qty);
+            if (parsedQty <= 0) {
+                throw new IllegalArgumentException("Quantity must be greater than zero");
+            }
+            return new InventoryImportRow(line, Integer.parseInt(itemId), parsedQty);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("itemId and qty must be integers");
+        }
+    }
+
+    // Hanya baris pertama yang persis berisi nama kolom yang dilewati, baris data yang rusak tetap dilaporkan
+    private static boolean isCsvHeader(String text) {
+        String[] columns = text.split(",");
+        return columns.length == 2
+                && columns[0].trim().equalsIgnoreCase("itemId")
+                && columns[1].trim().equalsIgnoreCase("qty");
+    }
+
+    /**
+     * Akumulasi hasil import, hanya menyimpan sejumlah rejection pertama
+     */
+    private static class ImportSummary {
+        private final int maxReportedRejections;
+        private final List<InventoryImportResult.Rejection> rejections = new ArrayList<>();
+        private long totalRows;
+        private long acceptedRows;
+        private long rejectedRows;
+
+        ImportSummary(int maxReportedRejections) {
+            this.maxReportedRejections = maxReportedRejections;
+        }
+
+        void reject(long line, String reason) {
+            rejectedRows++;
+            if (rejections.size() < maxReportedRejections) {
+                rejections.add(new InventoryImportResult.Rejection(line, reason));
+            }
+        }
+
+        InventoryImportResult toResult() {
+            return new InventoryImportResult(totalRows, acceptedRows, rejectedRows,
+                    rejections, rejectedRows > rejections.size());
+        }
+    }
+}
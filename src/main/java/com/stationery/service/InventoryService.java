@@ -1,6 +1,10 @@
 package com.stationery.service;
 
 import com.stationery.dto.InventoryDto;
+import com.stationery.dto.response.CursorPage;
+import com.stationery.dto.response.ItemStock;
+import com.stationery.dto.response.StockLookupResult;
+import com.stationery.dto.response.StockSnapshot;
 import com.stationery.entity.Inventory;
 import com.stationery.entity.Item;
 import com.stationery.entity.Order;
@@ -9,28 +13,45 @@ import com.stationery.exception.ResourceNotFoundException;
 import com.stationery.repository.InventoryRepository;
 import com.stationery.repository.ItemRepository;
 import com.stationery.repository.OrderRepository;
+import com.stationery.util.CursorCodec;
+import com.stationery.util.TotalCountCache;
 import com.stationery.util.ValidationUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "stationery.service", histogram = true) // Latency per method, tag class dan method
 public class InventoryService {
 
+    // Batas parameter IN per query, sebagian database membatasi jumlah parameter dan plan cache per panjang list
+    private static final int STOCK_LOOKUP_CHUNK_SIZE = 1000;
+
     private final InventoryRepository inventoryRepository;
     private final ItemRepository itemRepository;
     private final OrderRepository orderRepository;
+    private final StockBalanceService stockBalanceService;
+    private final StockCheckpointService stockCheckpointService;
+    private final StockProjectionService stockProjectionService;
     private final ValidationUtil validationUtil;
+    private final TotalCountCache totalCountCache;
 
     /**
      * Get inventory by ID
@@ -38,10 +59,9 @@ public class InventoryService {
     @Transactional(readOnly = true)
     public InventoryDto getInventory(Integer id) {
         log.debug("Getting inventory by ID: {}", id);
-        Inventory inventory = inventoryRepository.findById(id)
+        // Projection dengan join ke item, tanpa entity dan lazy load
+        return inventoryRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory", "id", id));
-
-        return mapToInventoryDto(inventory);
     }
 
     /**
@@ -50,13 +70,7 @@ public class InventoryService {
     @Transactional(readOnly = true)
     public Page<InventoryDto> getAllInventories(Pageable pageable) {
         log.debug("Getting all inventories, page: {}", pageable.getPageNumber());
-        Page<Inventory> inventoryPage = inventoryRepository.findAll(pageable);
-
-        List<InventoryDto> inventoryDtos = inventoryPage.getContent().stream()
-                .map(this::mapToInventoryDto)
-                .collect(Collectors.toList());
-
-        return new PageImpl<>(inventoryDtos, pageable, inventoryPage.getTotalElements());
+        return inventoryRepository.findDtoPage(pageable);
     }
 
     /**
@@ -71,28 +85,155 @@ public class InventoryService {
             throw new ResourceNotFoundException("Item", "id", itemId);
         }
 
-        Page<Inventory> inventoryPage = inventoryRepository.findByItemId(itemId, pageable);
+        return inventoryRepository.findDtoPageByItemId(itemId, pageable);
+    }
 
-        List<InventoryDto> inventoryDtos = inventoryPage.getContent().stream()
-                .map(this::mapToInventoryDto)
-                .collect(Collectors.toList());
+    /**
+     * Get a slice of inventories without counting the total
+     */
+    @Transactional(readOnly = true)
+    public Slice<InventoryDto> getInventoriesSlice(Pageable pageable) {
+        log.debug("Getting inventories slice, page: {}", pageable.getPageNumber());
+        return inventoryRepository.findDtoSlice(pageable);
+    }
+
+    /**
+     * Get a slice of inventories by item ID without counting the total
+     */
+    @Transactional(readOnly = true)
+    public Slice<InventoryDto> getInventoriesSliceByItemId(Integer itemId, Pageable pageable) {
+        log.debug("Getting inventories slice for item ID: {}, page: {}", itemId, pageable.getPageNumber());
+
+        // Check if item exists
+        if (!itemRepository.existsById(itemId)) {
+            throw new ResourceNotFoundException("Item", "id", itemId);
+        }
 
-        return new PageImpl<>(inventoryDtos, pageable, inventoryPage.getTotalElements());
+        return inventoryRepository.findDtoSliceByItemId(itemId, pageable);
     }
 
     /**
-     * Calculate remaining stock for an item
+     * Get the cached total number of inventories
+     */
+    public long getCachedInventoryCount() {
+        return totalCountCache.get("inventories", inventoryRepository::count);
+    }
+
+    /**
+     * Get the cached total number of inventories for an item
+     */
+    public long getCachedInventoryCount(Integer itemId) {
+        return totalCountCache.get("inventories:item:" + itemId, () -> inventoryRepository.countByItemId(itemId));
+    }
+
+    /**
+     * Get inventories with keyset pagination, cursor kosong berarti page pertama
      */
     @Transactional(readOnly = true)
-    public Integer calculateRemainingStock(Integer itemId) {
-        log.debug("Calculating remaining stock for item ID: {}", itemId);
+    public CursorPage<InventoryDto> getInventoriesByCursor(String cursor, int size) {
+        log.debug("Getting inventories by cursor: {}, size: {}", cursor, size);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<InventoryDto> inventories = cursor == null || cursor.isEmpty()
+                ? inventoryRepository.findDtoFirstPage(limit)
+                : inventoryRepository.findDtoPageAfter(CursorCodec.decodeInteger(cursor), limit);
+
+        return CursorPage.of(inventories, size, InventoryDto::getId, Function.identity());
+    }
+
+    /**
+     * Get inventories by item ID with keyset pagination
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<InventoryDto> getInventoriesByItemIdAndCursor(Integer itemId, String cursor, int size) {
+        log.debug("Getting inventories for item ID: {} by cursor: {}, size: {}", itemId, cursor, size);
 
         // Check if item exists
         if (!itemRepository.existsById(itemId)) {
             throw new ResourceNotFoundException("Item", "id", itemId);
         }
 
-        return inventoryRepository.calculateRemainingStock(itemId);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<InventoryDto> inventories = cursor == null || cursor.isEmpty()
+                ? inventoryRepository.findDtoFirstPageByItemId(itemId, limit)
+                : inventoryRepository.findDtoPageByItemIdAfter(itemId, CursorCodec.decodeInteger(cursor), limit);
+
+        return CursorPage.of(inventories, size, InventoryDto::getId, Function.identity());
+    }
+
+    /**
+     * Calculate remaining stock for an item
+     */
+    @Transactional(readOnly = true)
+    public Integer calculateRemainingStock(Integer itemId) {
+        log.debug("Calculating remaining stock for item ID: {}", itemId);
+
+        // Baca dari stock_balance, cek keberadaan item hanya jika belum ada baris balance
+        return stockBalanceService.findStock(itemId).orElseGet(() -> {
+            if (!itemRepository.existsById(itemId)) {
+                throw new ResourceNotFoundException("Item", "id", itemId);
+            }
+            return 0;
+        });
+    }
+
+    /**
+     * Get remaining stock for an item together with its version (untuk ETag)
+     */
+    @Transactional(readOnly = true)
+    public StockSnapshot getStockSnapshot(Integer itemId) {
+        log.debug("Getting stock snapshot for item ID: {}", itemId);
+
+        return stockBalanceService.findSnapshot(itemId).orElseGet(() -> {
+            if (!itemRepository.existsById(itemId)) {
+                throw new ResourceNotFoundException("Item", "id", itemId);
+            }
+            return new StockSnapshot(0, 0L);
+        });
+    }
+
+    /**
+     * Get remaining stock for many items at once, id yang tidak ditemukan dilaporkan tanpa menggagalkan request
+     */
+    @Transactional(readOnly = true)
+    public StockLookupResult getStocks(Collection<Integer> itemIds) {
+        List<Integer> ids = itemIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        log.debug("Getting stock for {} items", ids.size());
+
+        Map<Integer, Integer> found = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += STOCK_LOOKUP_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + STOCK_LOOKUP_CHUNK_SIZE, ids.size()));
+            for (ItemStock stock : itemRepository.findStocksByIds(chunk)) {
+                found.put(stock.itemId(), stock.qty());
+            }
+        }
+
+        // Hasil mengikuti urutan id di request
+        Map<Integer, Integer> stocks = new LinkedHashMap<>();
+        List<Integer> unknownItemIds = new ArrayList<>();
+        for (Integer id : ids) {
+            Integer qty = found.get(id);
+            if (qty == null) {
+                unknownItemIds.add(id);
+            } else {
+                stocks.put(id, qty);
+            }
+        }
+        return new StockLookupResult(stocks, unknownItemIds);
+    }
+
+    /**
+     * Rebuild stock balances of all items from the inventory ledger
+     */
+    @Transactional
+    public int rebuildStockBalances() {
+        log.debug("Rebuilding stock balances");
+        int rebuilt = stockBalanceService.rebuild();
+        stockProjectionService.rebuild();
+        return rebuilt;
     }
 
     /**
@@ -111,12 +252,15 @@ public class InventoryService {
                     .orElseThrow(() -> new ResourceNotFoundException("Order", "id", inventoryDto.getOrderId()));
         }
 
-        // Untuk validasi stock availability pada withdrawal manual
+        // Untuk validasi stock availability pada withdrawal manual, dilakukan secara atomik
+        // lewat conditional update pada stock_balance
+        boolean stockReserved = false;
         if (inventoryDto.getType() == InventoryType.W && order == null) {
-            var currentStock = inventoryRepository.calculateRemainingStock(inventoryDto.getItemId());
+            stockReserved = stockBalanceService.tryReserve(inventoryDto.getItemId(), inventoryDto.getQty());
 
             // Menggunakan Java 21 String templates untuk pesan error yang lebih bersih
-            if (currentStock < inventoryDto.getQty()) {
+            if (!stockReserved) {
+                var currentStock = stockBalanceService.getStock(inventoryDto.getItemId());
                 var errorMessage = STR."Insufficient stock for item '\{item.getName()}'. Available: \{currentStock}, Requested: \{inventoryDto.getQty()}";
                 validationUtil.validateCondition(false, errorMessage);
             }
@@ -129,6 +273,9 @@ public class InventoryService {
                 .order(order)
                 .build();
 
+        if (!stockReserved) {
+            stockBalanceService.apply(item.getId(), inventory.getType(), inventory.getQty());
+        }
         Inventory savedInventory = inventoryRepository.save(inventory);
         log.info("Created inventory with ID: {}", savedInventory.getId());
 
@@ -157,18 +304,19 @@ public class InventoryService {
                 (!inventory.getItem().getId().equals(inventoryDto.getItemId()) ||
                         !inventory.getQty().equals(inventoryDto.getQty()))) {
 
-            // Hitung stok saat ini tanpa id inventory terkait
-            List<Inventory> allInventories = inventoryRepository.findByItemId(inventoryDto.getItemId());
-            int currentStock = allInventories.stream()
-                    .filter(inv -> !inv.getId().equals(id))
-                    .mapToInt(inv -> inv.getType() == InventoryType.T ? inv.getQty() : -inv.getQty())
-                    .sum();
+            // Hitung stok saat ini tanpa id inventory terkait, dari checkpoint dan ledger setelahnya
+            int currentStock = stockCheckpointService.calculateStockExcluding(inventoryDto.getItemId(), inventory);
 
             validationUtil.validateCondition(currentStock >= inventoryDto.getQty(),
                     String.format("Insufficient stock for item '%s'. Available: %d, Requested for withdrawal: %d",
                             item.getName(), currentStock, inventoryDto.getQty()));
         }
 
+        stockBalanceService.revert(inventory.getItem().getId(), inventory.getType(), inventory.getQty());
+        stockBalanceService.apply(item.getId(), inventoryDto.getType(), inventoryDto.getQty());
+        stockCheckpointService.revert(id, inventory.getItem().getId(), inventory.getType(), inventory.getQty());
+        stockCheckpointService.apply(id, item.getId(), inventoryDto.getType(), inventoryDto.getQty());
+
         inventory.setItem(item);
         inventory.setQty(inventoryDto.getQty());
         inventory.setType(inventoryDto.getType());
@@ -195,30 +343,26 @@ public class InventoryService {
 
         // Jika  withdrawal, periksa jika menghapus dapat membuat stok minus
         if (inventory.getType() == InventoryType.W) {
-            List<Inventory> allInventories = inventoryRepository.findByItemId(inventory.getItem().getId());
-            int stockWithoutThisEntry = allInventories.stream()
-                    .filter(inv -> !inv.getId().equals(id))
-                    .mapToInt(inv -> inv.getType() == InventoryType.T ? inv.getQty() : -inv.getQty())
-                    .sum();
-
-            boolean wouldCauseNegativeStock = allInventories.stream()
-                    .filter(inv -> !inv.getId().equals(id) && inv.getType() == InventoryType.W)
-                    .anyMatch(inv -> {
-                        int tempStock = stockWithoutThisEntry;
-                        tempStock -= inv.getQty();
-                        return tempStock < 0;
-                    });
+            Integer itemId = inventory.getItem().getId();
+            int stockWithoutThisEntry = stockCheckpointService.calculateStockExcluding(itemId, inventory);
+
+            // Stock minus jika ada withdrawal lain yang qty-nya melebihi stock tanpa entry ini
+            boolean wouldCauseNegativeStock = inventoryRepository.existsByItemIdAndTypeAndQtyGreaterThanAndIdNot(
+                    itemId, InventoryType.W, stockWithoutThisEntry, id);
 
             validationUtil.validateCondition(!wouldCauseNegativeStock,
                     "Cannot delete this withdrawal as it would cause negative stock for other withdrawals.");
         }
 
+        stockBalanceService.revert(inventory.getItem().getId(), inventory.getType(), inventory.getQty());
+        stockCheckpointService.revert(id, inventory.getItem().getId(), inventory.getType(), inventory.getQty());
         inventoryRepository.delete(inventory);
         log.info("Deleted inventory with ID: {}", id);
     }
 
     /**
-     * Create withdrawal inventory for an order
+     * Create withdrawal inventory for an order.
+     * Stock di-reserve secara atomik, InsufficientStockException jika stock tidak cukup.
      */
     @Transactional
     public void createWithdrawalForOrder(Order order) {
@@ -231,6 +375,7 @@ public class InventoryService {
                 .order(order)
                 .build();
 
+        stockBalanceService.reserve(order.getItem(), order.getQty());
         inventoryRepository.save(withdrawal);
         log.info("Created withdrawal inventory for order ID: {}", order.getId());
     }
@@ -241,6 +386,10 @@ public class InventoryService {
     @Transactional
     public void deleteInventoriesForOrder(UUID orderId) {
         log.debug("Deleting inventories for order ID: {}", orderId);
+        inventoryRepository.findByOrderId(orderId).forEach(inventory -> {
+            stockBalanceService.revert(inventory.getItem().getId(), inventory.getType(), inventory.getQty());
+            stockCheckpointService.revert(inventory.getId(), inventory.getItem().getId(), inventory.getType(), inventory.getQty());
+        });
         inventoryRepository.deleteByOrderId(orderId);
         log.info("Deleted inventories for order ID: {}", orderId);
     }
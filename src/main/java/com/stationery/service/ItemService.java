@@ -4,28 +4,33 @@ import com.stationery.dto.ItemDto;
 import com.stationery.dto.response.ItemWithStockDto;
 import com.stationery.entity.Item;
 import com.stationery.exception.ResourceNotFoundException;
-import com.stationery.repository.InventoryRepository;
 import com.stationery.repository.ItemRepository;
+import com.stationery.util.EntityCacheEvictor;
+import com.stationery.util.TotalCountCache;
 import com.stationery.util.ValidationUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "stationery.service", histogram = true) // Latency per method, tag class dan method
 public class ItemService {
 
     private final ItemRepository itemRepository;
-    private final InventoryRepository inventoryRepository;
+    private final StockBalanceService stockBalanceService;
+    private final StockCheckpointService stockCheckpointService;
+    private final StockAlertService stockAlertService;
+    private final StockProjectionService stockProjectionService;
     private final ValidationUtil validationUtil;
+    private final TotalCountCache totalCountCache;
+    private final EntityCacheEvictor entityCacheEvictor;
 
     /**
      * Get item by ID with stock information
@@ -38,13 +43,23 @@ public class ItemService {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item", "id", id));
 
-        // Hitung stock secara langsung
-        Integer stockCount = inventoryRepository.calculateRemainingStock(id);
+        // Ambil stock dari saldo yang sudah di-maintain (primary-key read)
+        Integer stockCount = stockBalanceService.getStock(id);
         log.debug("Stock count for item {}: {}", id, stockCount);
 
         return mapToItemWithStockDto(item, stockCount);
     }
 
+    /**
+     * Get the ETag of an item with stock, berubah jika item atau ledger-nya berubah
+     */
+    @Transactional(readOnly = true)
+    public String getItemETag(Integer id) {
+        return itemRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Item", "id", id))
+                .eTag(id);
+    }
+
     /**
      * Get item by ID without stock information
      */
@@ -64,18 +79,24 @@ public class ItemService {
     public Page<ItemWithStockDto> getAllItemsWithStock(Pageable pageable) {
         log.debug("Getting all items with stock, page: {}", pageable.getPageNumber());
 
-        long totalItems = itemRepository.count();
-
-        Page<Item> itemPage = itemRepository.findAll(pageable);
+        // Item dan stock diambil sekaligus lewat join ke stock_balance (tanpa query per item)
+        return itemRepository.findAllWithStock(pageable);
+    }
 
-        List<ItemWithStockDto> itemDtos = itemPage.getContent().stream()
-                .map(item -> {
-                    Integer stockCount = inventoryRepository.calculateRemainingStock(item.getId());
-                    return mapToItemWithStockDto(item, stockCount);
-                })
-                .collect(Collectors.toList());
+    /**
+     * Get a slice of items with stock information without counting the total
+     */
+    @Transactional(readOnly = true)
+    public Slice<ItemWithStockDto> getItemsWithStockSlice(Pageable pageable) {
+        log.debug("Getting items with stock slice, page: {}", pageable.getPageNumber());
+        return itemRepository.findSliceWithStock(pageable);
+    }
 
-        return new PageImpl<>(itemDtos, pageable, totalItems);
+    /**
+     * Get the cached total number of items
+     */
+    public long getCachedItemCount() {
+        return totalCountCache.get("items", itemRepository::count);
     }
 
     /**
@@ -90,6 +111,7 @@ public class ItemService {
                 .build();
 
         Item savedItem = itemRepository.save(item);
+        stockBalanceService.initialize(savedItem.getId());
         log.info("Created new item with ID: {}", savedItem.getId());
 
         return mapToItemDto(savedItem);
@@ -108,6 +130,7 @@ public class ItemService {
         item.setPrice(itemDto.getPrice());
 
         Item updatedItem = itemRepository.save(item);
+        entityCacheEvictor.evictItemAfterCommit(id);
         log.info("Updated item with ID: {}", updatedItem.getId());
 
         return mapToItemDto(updatedItem);
@@ -127,7 +150,12 @@ public class ItemService {
         validationUtil.validateCondition(!hasInventory,
                 "Cannot delete item. Item has inventory entries. Delete inventory first.");
 
+        stockBalanceService.remove(id);
+        stockCheckpointService.remove(id);
+        stockAlertService.remove(id);
+        stockProjectionService.remove(id);
         itemRepository.delete(item);
+        entityCacheEvictor.evictItemAfterCommit(id);
         log.info("Deleted item with ID: {}", id);
     }
 
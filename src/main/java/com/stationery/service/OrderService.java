@@ -1,36 +1,59 @@
 package com.stationery.service;
 
 import com.stationery.dto.OrderDto;
+import com.stationery.dto.response.CursorPage;
+import com.stationery.dto.response.OrderBatchLineResult;
+import com.stationery.dto.response.OrderBatchResult;
+import com.stationery.dto.response.OrderCursorRow;
 import com.stationery.entity.Item;
 import com.stationery.entity.Order;
-import com.stationery.exception.InsufficientStockException;
+import com.stationery.enums.BatchMode;
+import com.stationery.enums.InventoryType;
 import com.stationery.exception.ResourceNotFoundException;
-import com.stationery.repository.InventoryRepository;
 import com.stationery.repository.ItemRepository;
+import com.stationery.repository.OrderBatchRepository;
 import com.stationery.repository.OrderRepository;
+import com.stationery.util.CursorCodec;
 import com.stationery.util.OrderNumberGenerator;
+import com.stationery.util.StockMetrics;
+import com.stationery.util.TotalCountCache;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "stationery.service", histogram = true) // Latency per method, tag class dan method
 public class OrderService {
 
     private final OrderRepository orderRepository;
     private final ItemRepository itemRepository;
-    private final InventoryRepository inventoryRepository;
     private final InventoryService inventoryService;
+    private final StockBalanceService stockBalanceService;
+    private final OrderBatchRepository orderBatchRepository;
     private final OrderNumberGenerator orderNumberGenerator;
+    private final TotalCountCache totalCountCache;
+    private final StockMetrics stockMetrics;
+
+    @Value("${order.batch.default-mode:ALL_OR_NOTHING}")
+    private BatchMode defaultBatchMode;
 
     /**
      * Get order by ID
@@ -38,10 +61,9 @@ public class OrderService {
     @Transactional(readOnly = true)
     public OrderDto getOrder(UUID id) {
         log.debug("Getting order by ID: {}", id);
-        Order order = orderRepository.findById(id)
+        // Projection dengan join ke item, tanpa entity dan lazy load
+        return orderRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
-
-        return mapToOrderDto(order);
     }
 
     /**
@@ -50,13 +72,7 @@ public class OrderService {
     @Transactional(readOnly = true)
     public Page<OrderDto> getAllOrders(Pageable pageable) {
         log.debug("Getting all orders, page: {}", pageable.getPageNumber());
-        Page<Order> orderPage = orderRepository.findAll(pageable);
-
-        List<OrderDto> orderDtos = orderPage.getContent().stream()
-                .map(this::mapToOrderDto)
-                .collect(Collectors.toList());
-
-        return new PageImpl<>(orderDtos, pageable, orderPage.getTotalElements());
+        return orderRepository.findDtoPage(pageable);
     }
 
     /**
@@ -71,13 +87,80 @@ public class OrderService {
             throw new ResourceNotFoundException("Item", "id", itemId);
         }
 
-        Page<Order> orderPage = orderRepository.findByItemId(itemId, pageable);
+        return orderRepository.findDtoPageByItemId(itemId, pageable);
+    }
+
+    /**
+     * Get a slice of orders without counting the total
+     */
+    @Transactional(readOnly = true)
+    public Slice<OrderDto> getOrdersSlice(Pageable pageable) {
+        log.debug("Getting orders slice, page: {}", pageable.getPageNumber());
+        return orderRepository.findDtoSlice(pageable);
+    }
+
+    /**
+     * Get a slice of orders by item ID without counting the total
+     */
+    @Transactional(readOnly = true)
+    public Slice<OrderDto> getOrdersSliceByItemId(Integer itemId, Pageable pageable) {
+        log.debug("Getting orders slice for item ID: {}, page: {}", itemId, pageable.getPageNumber());
+
+        // Check if item exists
+        if (!itemRepository.existsById(itemId)) {
+            throw new ResourceNotFoundException("Item", "id", itemId);
+        }
+
+        return orderRepository.findDtoSliceByItemId(itemId, pageable);
+    }
 
-        List<OrderDto> orderDtos = orderPage.getContent().stream()
-                .map(this::mapToOrderDto)
-                .collect(Collectors.toList());
+    /**
+     * Get the cached total number of orders
+     */
+    public long getCachedOrderCount() {
+        return totalCountCache.get("orders", orderRepository::count);
+    }
 
-        return new PageImpl<>(orderDtos, pageable, orderPage.getTotalElements());
+    /**
+     * Get the cached total number of orders for an item
+     */
+    public long getCachedOrderCount(Integer itemId) {
+        return totalCountCache.get("orders:item:" + itemId, () -> orderRepository.countByItemId(itemId));
+    }
+
+    /**
+     * Get orders with keyset pagination, cursor kosong berarti page pertama
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto> getOrdersByCursor(String cursor, int size) {
+        log.debug("Getting orders by cursor: {}, size: {}", cursor, size);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<OrderCursorRow> rows = cursor == null || cursor.isEmpty()
+                ? orderRepository.findCursorFirstPage(limit)
+                : orderRepository.findCursorPageAfter(CursorCodec.decodeLong(cursor), limit);
+
+        return CursorPage.of(rows, size, OrderCursorRow::orderSeq, OrderCursorRow::order);
+    }
+
+    /**
+     * Get orders by item ID with keyset pagination
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto> getOrdersByItemIdAndCursor(Integer itemId, String cursor, int size) {
+        log.debug("Getting orders for item ID: {} by cursor: {}, size: {}", itemId, cursor, size);
+
+        // Check if item exists
+        if (!itemRepository.existsById(itemId)) {
+            throw new ResourceNotFoundException("Item", "id", itemId);
+        }
+
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<OrderCursorRow> rows = cursor == null || cursor.isEmpty()
+                ? orderRepository.findCursorFirstPageByItemId(itemId, limit)
+                : orderRepository.findCursorPageByItemIdAfter(itemId, CursorCodec.decodeLong(cursor), limit);
+
+        return CursorPage.of(rows, size, OrderCursorRow::orderSeq, OrderCursorRow::order);
     }
 
     /**
@@ -91,18 +174,12 @@ public class OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Item", "id", orderDto.getItemId()));
 
         // Generate order number
-        String orderNo = orderNumberGenerator.generateOrderNumber();
-
-        // Check stock availability
-        Integer currentStock = inventoryRepository.calculateRemainingStock(orderDto.getItemId());
-        if (currentStock < orderDto.getQty()) {
-            throw new InsufficientStockException(
-                    item.getName(), orderDto.getQty(), currentStock);
-        }
+        OrderNumberGenerator.OrderNumber orderNumber = orderNumberGenerator.nextOrderNumber();
 
         // Create order dengan menggunakan harga dari item, bukan dari input
         Order order = Order.builder()
-                .orderNo(orderNo)
+                .orderNo(orderNumber.orderNo())
+                .orderSeq(orderNumber.sequence())
                 .item(item)
                 .qty(orderDto.getQty())
                 .price(item.getPrice()) // Selalu gunakan harga dari database
@@ -111,12 +188,101 @@ public class OrderService {
         Order savedOrder = orderRepository.save(order);
         log.info("Created order with ID: {}", savedOrder.getId());
 
-        // Create withdrawal inventory
+        // Create withdrawal inventory, stock di-reserve secara atomik di sini
+        // sehingga order yang berjalan bersamaan tidak bisa membuat stock minus
         inventoryService.createWithdrawalForOrder(savedOrder);
 
         return mapToOrderDto(savedOrder);
     }
 
+    /**
+     * Create many orders in one transaction.
+     * Stock semua item di-lock dan divalidasi dengan satu query, lalu order dan
+     * withdrawal inventory di-insert dengan JDBC batch.
+     */
+    @Transactional
+    public OrderBatchResult createOrders(List<OrderDto> orderDtos, BatchMode mode) {
+        BatchMode batchMode = mode != null ? mode : defaultBatchMode;
+        log.debug("Creating batch of {} orders, mode: {}", orderDtos.size(), batchMode);
+
+        Set<Integer> itemIds = orderDtos.stream()
+                .map(OrderDto::getItemId)
+                .collect(Collectors.toSet());
+        Map<Integer, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Integer, Integer> remainingStock = new HashMap<>(stockBalanceService.lockStocks(items.keySet()));
+
+        // Validasi setiap baris terhadap sisa stock, baris yang lolos langsung mengurangi sisa stock
+        List<OrderBatchLineResult> results = new ArrayList<>(orderDtos.size());
+        List<Order> accepted = new ArrayList<>();
+        Map<Integer, Integer> withdrawnQty = new HashMap<>();
+        Map<Integer, Integer> withdrawnEntries = new HashMap<>();
+        for (int i = 0; i < orderDtos.size(); i++) {
+            OrderDto orderDto = orderDtos.get(i);
+            int line = i + 1;
+
+            Item item = items.get(orderDto.getItemId());
+            if (item == null) {
+                results.add(OrderBatchLineResult.failed(line,
+                        String.format("Item not found with id: '%s'", orderDto.getItemId())));
+                continue;
+            }
+
+            int available = remainingStock.getOrDefault(item.getId(), 0);
+            if (available < orderDto.getQty()) {
+                stockMetrics.recordInsufficientStock(item.getId());
+                results.add(OrderBatchLineResult.failed(line,
+                        String.format("Insufficient stock for item '%s'. Requested: %d, Available: %d",
+                                item.getName(), orderDto.getQty(), available)));
+                continue;
+            }
+
+            remainingStock.put(item.getId(), available - orderDto.getQty());
+            withdrawnQty.merge(item.getId(), orderDto.getQty(), Integer::sum);
+            withdrawnEntries.merge(item.getId(), 1, Integer::sum);
+
+            Order order = Order.builder()
+                    .id(UUID.randomUUID())
+                    .item(item)
+                    .qty(orderDto.getQty())
+                    .price(item.getPrice()) // Selalu gunakan harga dari database
+                    .build();
+            accepted.add(order);
+            results.add(OrderBatchLineResult.created(line, null));
+        }
+
+        boolean hasFailure = accepted.size() < orderDtos.size();
+        if (hasFailure && batchMode == BatchMode.ALL_OR_NOTHING) {
+            log.info("Rejected batch of {} orders, {} line(s) failed", orderDtos.size(), orderDtos.size() - accepted.size());
+            return OrderBatchResult.of(batchMode, results.stream()
+                    .map(result -> result.success()
+                            ? OrderBatchLineResult.failed(result.line(), "Not created because another line in the batch failed")
+                            : result)
+                    .toList());
+        }
+
+        // Nomor order hanya dibuat untuk baris yang benar-benar di-insert
+        accepted.forEach(order -> {
+            OrderNumberGenerator.OrderNumber orderNumber = orderNumberGenerator.nextOrderNumber();
+            order.setOrderNo(orderNumber.orderNo());
+            order.setOrderSeq(orderNumber.sequence());
+        });
+
+        withdrawnQty.forEach((itemId, qty) ->
+                stockBalanceService.apply(itemId, InventoryType.W, qty, withdrawnEntries.get(itemId)));
+        orderBatchRepository.insertOrders(accepted);
+        orderBatchRepository.insertWithdrawals(accepted);
+        log.info("Created batch of {} orders, {} line(s) failed", accepted.size(), orderDtos.size() - accepted.size());
+
+        // Isi hasil baris sukses dengan order yang sudah dibuat, sesuai urutan
+        var createdOrders = accepted.iterator();
+        return OrderBatchResult.of(batchMode, results.stream()
+                .map(result -> result.success()
+                        ? OrderBatchLineResult.created(result.line(), mapToOrderDto(createdOrders.next()))
+                        : result)
+                .toList());
+    }
+
     /**
      * Update an existing order
      */
@@ -136,18 +302,13 @@ public class OrderService {
         if (itemChanged || qtyChanged) {
             inventoryService.deleteInventoriesForOrder(id);
 
-            Integer currentStock = inventoryRepository.calculateRemainingStock(item.getId());
-            if (currentStock < orderDto.getQty()) {
-                throw new InsufficientStockException(
-                        item.getName(), orderDto.getQty(), currentStock);
-            }
-
             order.setItem(item);
             order.setQty(orderDto.getQty());
             order.setPrice(orderDto.getPrice());
 
             Order updatedOrder = orderRepository.save(order);
 
+            // Stock di-reserve ulang, InsufficientStockException akan me-rollback seluruh perubahan
             inventoryService.createWithdrawalForOrder(updatedOrder);
 
             log.info("Updated order with ID: {}", updatedOrder.getId());
@@ -0,0 +1,141 @@
+package com.stationery.service;
+
+import com.stationery.dto.response.StockAlertDto;
+import com.stationery.dto.response.StockSnapshot;
+import com.stationery.entity.Item;
+import com.stationery.entity.StockAlert;
+import com.stationery.exception.ResourceNotFoundException;
+import com.stationery.repository.ItemRepository;
+import com.stationery.repository.StockAlertRepository;
+import com.stationery.util.StockMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Low-stock alert per item. Status low disimpan di stock_alert dan hanya dievaluasi ulang untuk item
+ * yang saldonya berubah, alert hanya dicatat saat status berpindah (turun di bawah threshold atau pulih).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockAlertService {
+
+    // Version untuk item yang belum punya baris stock_balance, perubahan pertama selalu lebih baru
+    private static final long NO_STOCK_VERSION = -1L;
+
+    private final StockAlertRepository stockAlertRepository;
+    private final ItemRepository itemRepository;
+    private final StockBalanceService stockBalanceService;
+    private final StockMetrics stockMetrics;
+
+    /**
+     * Set the reorder threshold of an item and evaluate its current stock against it
+     */
+    @Transactional
+    public StockAlertDto setThreshold(Integer itemId, int threshold) {
+        log.debug("Setting stock threshold of item ID: {} to {}", itemId, threshold);
+
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item", "id", itemId));
+        // Lock dulu baru baca saldo, sama seperti evaluate(), supaya tidak menimpa evaluasi yang lebih baru
+        StockAlert alert = stockAlertRepository.findForUpdate(itemId)
+                .orElseGet(() -> StockAlert.builder().itemId(itemId).stockVersion(NO_STOCK_VERSION).build());
+        StockSnapshot stock = stockBalanceService.findSnapshot(itemId)
+                .orElse(new StockSnapshot(0, NO_STOCK_VERSION));
+        if (alert.getStockVersion() > stock.version()) {
+            stock = new StockSnapshot(alert.getQty(), alert.getStockVersion());
+        }
+
+        // Status awal mengikuti stock saat ini tanpa mencatat alert
+        alert.setThreshold(threshold);
+        update(alert, stock);
+        stockAlertRepository.save(alert);
+
+        return new StockAlertDto(itemId, item.getName(), alert.getQty(), alert.getThreshold(),
+                alert.isLow(), alert.getLowSince());
+    }
+
+    /**
+     * Remove the reorder threshold of an item
+     */
+    @Transactional
+    public void removeThreshold(Integer itemId) {
+        log.debug("Removing stock threshold of item ID: {}", itemId);
+
+        if (!stockAlertRepository.existsById(itemId)) {
+            throw new ResourceNotFoundException("Stock alert", "itemId", itemId);
+        }
+        stockAlertRepository.deleteById(itemId);
+    }
+
+    /**
+     * Remove the alert of a deleted item, if any
+     */
+    @Transactional
+    public void remove(Integer itemId) {
+        stockAlertRepository.deleteById(itemId);
+    }
+
+    /**
+     * Get a page of items that are currently below their threshold
+     */
+    @Transactional(readOnly = true)
+    public Page<StockAlertDto> getLowStockItems(Pageable pageable) {
+        log.debug("Getting low stock items, page: {}", pageable.getPageNumber());
+        return stockAlertRepository.findLowPage(pageable);
+    }
+
+    /**
+     * Re-evaluate the alert of an item after its stock changed
+     * @return true if the item crossed its threshold (became low or recovered)
+     */
+    @Transactional
+    public boolean evaluate(Integer itemId) {
+        Optional<StockAlert> found = stockAlertRepository.findForUpdate(itemId);
+        if (found.isEmpty()) {
+            // Item tanpa threshold, cukup satu primary-key read
+            return false;
+        }
+
+        StockAlert alert = found.get();
+        StockSnapshot stock = stockBalanceService.findSnapshot(itemId)
+                .orElse(new StockSnapshot(0, NO_STOCK_VERSION));
+        if (stock.version() <= alert.getStockVersion()) {
+            // Evaluasi lain sudah melihat saldo ini atau yang lebih baru
+            return false;
+        }
+
+        boolean wasLow = alert.isLow();
+        update(alert, stock);
+        if (alert.isLow() == wasLow) {
+            return false;
+        }
+
+        if (alert.isLow()) {
+            log.warn("Item {} is low on stock: {} below threshold {}", itemId, alert.getQty(), alert.getThreshold());
+        } else {
+            log.info("Item {} recovered from low stock: {} (threshold {})", itemId, alert.getQty(), alert.getThreshold());
+        }
+        stockMetrics.recordStockAlert(itemId, alert.isLow());
+        return true;
+    }
+
+    private void update(StockAlert alert, StockSnapshot stock) {
+        boolean low = stock.qty() < alert.getThreshold();
+        if (low && !alert.isLow()) {
+            alert.setLowSince(LocalDateTime.now());
+        } else if (!low) {
+            alert.setLowSince(null);
+        }
+        alert.setLow(low);
+        alert.setQty(stock.qty());
+        alert.setStockVersion(stock.version());
+    }
+}
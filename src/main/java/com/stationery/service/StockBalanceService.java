@@ -0,0 +1,181 @@
+package com.stationery.service;
+
+import com.stationery.dto.response.StockChange;
+import com.stationery.dto.response.StockSnapshot;
+import com.stationery.entity.Item;
+import com.stationery.entity.StockBalance;
+import com.stationery.enums.InventoryType;
+import com.stationery.exception.InsufficientStockException;
+import com.stationery.repository.StockBalanceRepository;
+import com.stationery.util.StockMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Maintain saldo stock per item (tabel stock_balance) supaya pembacaan stock
+ * tidak perlu SUM seluruh ledger inventory.
+ * Semua perubahan dilakukan di transaksi yang sama dengan perubahan ledger,
+ * dan setiap perubahan juga dicatat sebagai event di outbox stock_event.
+ * StockChange dipublikasikan untuk stream subscriber, dikirim hanya jika transaksi commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockBalanceService {
+
+    private final StockBalanceRepository stockBalanceRepository;
+    private final StockMetrics stockMetrics;
+    private final StockProjectionService stockProjectionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Find the stock balance of an item, empty if the item has no balance row
+     */
+    @Transactional(readOnly = true)
+    public Optional<Integer> findStock(Integer itemId) {
+        return stockBalanceRepository.findQtyByItemId(itemId);
+    }
+
+    /**
+     * Find the stock balance of an item together with its version
+     */
+    @Transactional(readOnly = true)
+    public Optional<StockSnapshot> findSnapshot(Integer itemId) {
+        return stockBalanceRepository.findSnapshotByItemId(itemId);
+    }
+
+    /**
+     * Get the stock balance of an item that is known to exist
+     */
+    @Transactional(readOnly = true)
+    public int getStock(Integer itemId) {
+        return stockBalanceRepository.findQtyByItemId(itemId).orElse(0);
+    }
+
+    /**
+     * Lock and read the balances of several items with one query.
+     * Item tanpa baris balance tidak ada di map (dianggap stock nol).
+     */
+    @Transactional
+    public Map<Integer, Integer> lockStocks(Collection<Integer> itemIds) {
+        return stockBalanceRepository.findAllForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(StockBalance::getItemId, StockBalance::getQty));
+    }
+
+    /**
+     * Create an empty balance row for a new item
+     */
+    @Transactional
+    public void initialize(Integer itemId) {
+        stockBalanceRepository.save(StockBalance.builder()
+                .itemId(itemId)
+                .qty(0)
+                .build());
+    }
+
+    /**
+     * Remove the balance row of a deleted item
+     */
+    @Transactional
+    public void remove(Integer itemId) {
+        stockBalanceRepository.deleteById(itemId);
+    }
+
+    /**
+     * Apply a ledger entry of the given type and quantity to the balance
+     * (positive for top-up, negative for withdrawal)
+     */
+    @Transactional
+    public void apply(Integer itemId, InventoryType type, int qty) {
+        apply(itemId, type, qty, 1);
+    }
+
+    /**
+     * Apply several ledger entries of the same type at once, qty adalah total seluruh entry
+     */
+    @Transactional
+    public void apply(Integer itemId, InventoryType type, int qty, int entries) {
+        int delta = signedQty(type, qty);
+        adjust(itemId, delta);
+        stockProjectionService.recordEvent(itemId, type, qty, entries);
+        eventPublisher.publishEvent(new StockChange(itemId, type, delta));
+    }
+
+    /**
+     * Revert a ledger entry that is being removed or replaced
+     */
+    @Transactional
+    public void revert(Integer itemId, InventoryType type, int qty) {
+        int delta = -signedQty(type, qty);
+        adjust(itemId, delta);
+        stockProjectionService.recordEvent(itemId, type, -qty, -1);
+        eventPublisher.publishEvent(new StockChange(itemId, type, delta));
+    }
+
+    /**
+     * Try to atomically withdraw stock from an item
+     * @return true if the stock was reserved, false if the balance is insufficient
+     */
+    @Transactional
+    public boolean tryReserve(Integer itemId, int qty) {
+        boolean reserved = stockBalanceRepository.reserve(itemId, qty) > 0;
+        if (reserved) {
+            stockProjectionService.recordEvent(itemId, InventoryType.W, qty, 1);
+            eventPublisher.publishEvent(new StockChange(itemId, InventoryType.W, -qty));
+        } else {
+            stockMetrics.recordInsufficientStock(itemId);
+        }
+        return reserved;
+    }
+
+    /**
+     * Atomically withdraw stock from an item or fail with InsufficientStockException.
+     * Aman untuk order yang berjalan bersamaan di beberapa node karena pengecekan
+     * dan pengurangan dilakukan dalam satu conditional update di database.
+     */
+    @Transactional
+    public void reserve(Item item, int qty) {
+        if (!tryReserve(item.getId(), qty)) {
+            throw new InsufficientStockException(item.getName(), qty, getStock(item.getId()));
+        }
+    }
+
+    /**
+     * Recompute every balance from the inventory ledger.
+     * Semua baris balance di-lock dulu (urut item_id, sama dengan writer lain): writer yang sudah
+     * meng-update balance ditunggu sampai ledger-nya commit, writer berikutnya menunggu rebuild selesai.
+     * Balance dihitung ulang di tempat, tidak dihapus lalu di-insert ulang.
+     * @return number of balance rows rebuilt
+     */
+    @Transactional
+    public int rebuild() {
+        log.debug("Rebuilding stock balances from inventory ledger");
+        stockBalanceRepository.lockAll();
+        stockBalanceRepository.deleteOrphanBalances();
+        int rebuilt = stockBalanceRepository.updateBalancesFromLedger()
+                + stockBalanceRepository.insertMissingBalancesFromLedger(System.currentTimeMillis());
+        log.info("Rebuilt {} stock balances from inventory ledger", rebuilt);
+        return rebuilt;
+    }
+
+    private void adjust(Integer itemId, int delta) {
+        int updated = stockBalanceRepository.adjust(itemId, delta);
+        if (updated == 0) {
+            // Item tanpa baris balance belum pernah punya ledger, jadi saldo awalnya nol.
+            // Data lama yang dibuat sebelum tabel ini ada harus di-rebuild terlebih dahulu.
+            stockBalanceRepository.upsert(itemId, delta);
+        }
+    }
+
+    static int signedQty(InventoryType type, int qty) {
+        return type == InventoryType.T ? qty : -qty;
+    }
+}
@@ -0,0 +1,120 @@
+package com.stationery.service;
+
+import com.stationery.dto.response.LedgerTail;
+import com.stationery.entity.Inventory;
+import com.stationery.entity.StockCheckpoint;
+import com.stationery.enums.InventoryType;
+import com.stationery.repository.InventoryRepository;
+import com.stationery.repository.StockCheckpointRepository;
+import com.stationery.util.StockMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Checkpoint stock per item supaya perhitungan stock dari ledger hanya menjumlahkan
+ * entry setelah checkpoint terakhir. Entry yang sudah masuk checkpoint lalu di-update
+ * atau dihapus ikut mengoreksi checkpoint di transaksi yang sama.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockCheckpointService {
+
+    private final StockCheckpointRepository stockCheckpointRepository;
+    private final InventoryRepository inventoryRepository;
+    private final StockBalanceService stockBalanceService;
+    private final StockMetrics stockMetrics;
+
+    /**
+     * Calculate the stock of an item without one ledger entry
+     */
+    @Transactional(readOnly = true)
+    public int calculateStockExcluding(Integer itemId, Inventory excluded) {
+        StockCheckpoint checkpoint = findCheckpoint(itemId);
+        int stock = checkpoint.getQty()
+                + inventoryRepository.calculateStockChangeAfterExcluding(itemId, checkpoint.getLedgerId(), excluded.getId());
+
+        // Entry yang sudah termasuk di checkpoint dikeluarkan dari nilai checkpoint
+        if (excluded.getItem().getId().equals(itemId) && excluded.getId() <= checkpoint.getLedgerId()) {
+            stock -= StockBalanceService.signedQty(excluded.getType(), excluded.getQty());
+        }
+        return stock;
+    }
+
+    /**
+     * Move the checkpoint of an item forward to its latest ledger entry.
+     * Balance item di-lock dulu: semua perubahan ledger meng-update balance sebelum menulis ledger,
+     * jadi tidak ada entry item ini yang masih in-flight dengan id lebih kecil.
+     * @return true if a new checkpoint was written, false if fewer than minRows entries were added
+     */
+    @Transactional
+    public boolean checkpoint(Integer itemId, int minRows) {
+        stockBalanceService.lockStocks(List.of(itemId));
+
+        StockCheckpoint checkpoint = findCheckpoint(itemId);
+        LedgerTail tail = inventoryRepository.summarizeLedgerAfter(itemId, checkpoint.getLedgerId());
+        if (tail.rows() == 0 || tail.rows() < minRows) {
+            return false;
+        }
+
+        checkpoint.setQty(checkpoint.getQty() + Math.toIntExact(tail.qty()));
+        checkpoint.setLedgerId(tail.lastId());
+        stockCheckpointRepository.save(checkpoint);
+        log.debug("Checkpointed stock of item ID: {} at ledger ID: {}", itemId, tail.lastId());
+        return true;
+    }
+
+    /**
+     * Apply a changed ledger entry to the checkpoint that already includes it
+     */
+    @Transactional
+    public void apply(Integer inventoryId, Integer itemId, InventoryType type, int qty) {
+        stockCheckpointRepository.adjust(itemId, inventoryId, StockBalanceService.signedQty(type, qty));
+    }
+
+    /**
+     * Revert a ledger entry that is being removed or replaced from the checkpoint that includes it
+     */
+    @Transactional
+    public void revert(Integer inventoryId, Integer itemId, InventoryType type, int qty) {
+        stockCheckpointRepository.adjust(itemId, inventoryId, -StockBalanceService.signedQty(type, qty));
+    }
+
+    /**
+     * Remove the checkpoint of a deleted item
+     */
+    @Transactional
+    public void remove(Integer itemId) {
+        stockCheckpointRepository.deleteById(itemId);
+    }
+
+    /**
+     * Compare the checkpoints of some items with a full recompute of their ledger.
+     * Checkpoint yang tidak cocok dihapus, perhitungan berikutnya kembali dari awal ledger.
+     * @return item ids whose checkpoint did not match
+     */
+    @Transactional
+    public List<Integer> verify(Collection<Integer> itemIds) {
+        List<Integer> mismatched = stockCheckpointRepository.findMismatchedItemIds(itemIds);
+        mismatched.forEach(itemId -> {
+            log.error("Stock checkpoint of item ID: {} does not match the inventory ledger", itemId);
+            stockMetrics.recordCheckpointMismatch(itemId);
+        });
+        stockCheckpointRepository.deleteAllById(mismatched);
+        return mismatched;
+    }
+
+    private StockCheckpoint findCheckpoint(Integer itemId) {
+        return stockCheckpointRepository.findById(itemId)
+                .orElseGet(() -> StockCheckpoint.builder()
+                        .itemId(itemId)
+                        .ledgerId(0)
+                        .qty(0)
+                        .build());
+    }
+}
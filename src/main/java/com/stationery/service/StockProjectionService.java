@@ -0,0 +1,162 @@
+package com.stationery.service;
+
+import com.stationery.dto.response.PendingStockEvents;
+import com.stationery.dto.response.StockProjectionDto;
+import com.stationery.entity.StockEvent;
+import com.stationery.entity.StockProjection;
+import com.stationery.enums.InventoryType;
+import com.stationery.exception.ResourceNotFoundException;
+import com.stationery.repository.ItemRepository;
+import com.stationery.repository.StockBalanceRepository;
+import com.stationery.repository.StockEventRepository;
+import com.stationery.repository.StockProjectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Proyeksi outbox stock_event ke read model stock_projection. Write path hanya menambah event,
+ * read model di-update di background sehingga bisa tertinggal sebesar lag yang dilaporkan.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockProjectionService {
+
+    private final StockEventRepository stockEventRepository;
+    private final StockProjectionRepository stockProjectionRepository;
+    private final ItemRepository itemRepository;
+    private final StockBalanceRepository stockBalanceRepository;
+
+    /**
+     * Record a stock change in the outbox, dipanggil di dalam transaksi perubahan ledger
+     */
+    @Transactional
+    public void recordEvent(Integer itemId, InventoryType type, int qty, int entries) {
+        stockEventRepository.save(StockEvent.builder()
+                .itemId(itemId)
+                .type(type)
+                .qty(qty)
+                .entries(entries)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Apply the oldest outbox events to the read model and remove them from the outbox
+     * @return number of events projected
+     */
+    @Transactional
+    public int projectNextBatch(int batchSize) {
+        List<StockEvent> events = stockEventRepository.findOldestForUpdate(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Set<Integer> itemIds = events.stream()
+                .map(StockEvent::getItemId)
+                .collect(Collectors.toSet());
+        Map<Integer, StockProjection> projections = stockProjectionRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(StockProjection::getItemId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (StockEvent event : events) {
+            StockProjection projection = projections.computeIfAbsent(event.getItemId(), this::emptyProjection);
+            if (event.getType() == InventoryType.T) {
+                projection.setQty(projection.getQty() + event.getQty());
+                projection.setTopUpQty(projection.getTopUpQty() + event.getQty());
+                projection.setTopUpCount(projection.getTopUpCount() + event.getEntries());
+            } else {
+                projection.setQty(projection.getQty() - event.getQty());
+                projection.setWithdrawalQty(projection.getWithdrawalQty() + event.getQty());
+                projection.setWithdrawalCount(projection.getWithdrawalCount() + event.getEntries());
+            }
+            projection.setUpdatedAt(now);
+        }
+
+        stockProjectionRepository.saveAll(projections.values());
+        stockEventRepository.deleteAllInBatch(events);
+        log.debug("Projected {} stock events for {} items", events.size(), projections.size());
+        return events.size();
+    }
+
+    /**
+     * Get the projected stock of an item together with its lag behind the outbox
+     */
+    @Transactional(readOnly = true)
+    public StockProjectionDto getProjection(Integer itemId) {
+        log.debug("Getting stock projection for item ID: {}", itemId);
+
+        if (!itemRepository.existsById(itemId)) {
+            throw new ResourceNotFoundException("Item", "id", itemId);
+        }
+
+        StockProjection projection = stockProjectionRepository.findById(itemId)
+                .orElseGet(() -> emptyProjection(itemId));
+        PendingStockEvents pending = stockEventRepository.summarizePending(itemId);
+        long lagMillis = pending.oldestCreatedAt() == null
+                ? 0
+                : Duration.between(pending.oldestCreatedAt(), LocalDateTime.now()).toMillis();
+
+        return new StockProjectionDto(
+                itemId,
+                projection.getQty(),
+                projection.getTopUpQty(),
+                projection.getWithdrawalQty(),
+                projection.getTopUpCount(),
+                projection.getWithdrawalCount(),
+                projection.getUpdatedAt(),
+                pending.count(),
+                lagMillis);
+    }
+
+    /**
+     * Recompute the read model of all items from the inventory ledger and clear the outbox.
+     * Balance di-lock dulu seperti StockBalanceService.rebuild: setiap writer meng-update balance
+     * sebelum menulis ledger dan event, jadi tidak ada event yang commit di antara hapus outbox
+     * dan perhitungan ulang ledger (event seperti itu akan terhitung dua kali).
+     * @return number of projections rebuilt
+     */
+    @Transactional
+    public int rebuild() {
+        log.debug("Rebuilding stock projections from inventory ledger");
+        stockBalanceRepository.lockAll();
+        stockEventRepository.deleteAllEvents();
+        stockProjectionRepository.deleteAllProjections();
+        int rebuilt = stockProjectionRepository.insertProjectionsFromLedger();
+        log.info("Rebuilt {} stock projections from inventory ledger", rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Remove the projection and pending events of a deleted item.
+     * Event dihapus dulu: menunggu projector yang sedang memegang lock event item ini,
+     * sehingga projection yang baru disimpan projector ikut terhapus.
+     */
+    @Transactional
+    public void remove(Integer itemId) {
+        stockEventRepository.deleteByItemId(itemId);
+        stockProjectionRepository.deleteById(itemId);
+    }
+
+    private StockProjection emptyProjection(Integer itemId) {
+        return StockProjection.builder()
+                .itemId(itemId)
+                .qty(0)
+                .topUpQty(0L)
+                .withdrawalQty(0L)
+                .topUpCount(0L)
+                .withdrawalCount(0L)
+                .build();
+    }
+}
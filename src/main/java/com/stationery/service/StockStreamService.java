@@ -0,0 +1,221 @@
+package com.stationery.service;
+
+import com.stationery.dto.response.StockChange;
+import com.stationery.exception.BusinessLogicException;
+import com.stationery.util.StockMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Hub Server-Sent Events untuk perubahan stock. Subscriber yang idle tidak memegang thread,
+ * setiap subscriber punya buffer terbatas yang dikirim oleh virtual thread saat ada event.
+ * Subscriber yang buffer-nya penuh diputus supaya client reconnect dan membaca ulang stock.
+ */
+@Service
+@Slf4j
+public class StockStreamService {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> allItemSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Set<Subscriber>> subscribersByItem = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final StockMetrics stockMetrics;
+    private final Executor sender;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int maxItemIds;
+    private final long timeoutMillis;
+
+    @Autowired
+    public StockStreamService(StockMetrics stockMetrics,
+                              @Value("${stock.stream.buffer-size:256}") int bufferSize,
+                              @Value("${stock.stream.max-subscribers:10000}") int maxSubscribers,
+                              @Value("${stock.stream.max-item-ids:1000}") int maxItemIds,
+                              @Value("${stock.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this(stockMetrics, Executors.newVirtualThreadPerTaskExecutor(), bufferSize, maxSubscribers, maxItemIds, timeoutMillis);
+    }
+
+    StockStreamService(StockMetrics stockMetrics, Executor sender, int bufferSize,
+                       int maxSubscribers, int maxItemIds, long timeoutMillis) {
+        this.stockMetrics = stockMetrics;
+        this.sender = sender;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.maxItemIds = maxItemIds;
+        this.timeoutMillis = timeoutMillis;
+        stockMetrics.bindStreamSubscribers(subscriberCount);
+    }
+
+    /**
+     * Subscribe to stock changes of the given items, or of all items if no item is given
+     */
+    public SseEmitter subscribe(Collection<Integer> itemIds) {
+        Set<Integer> filter = itemIds == null ? Set.of() : itemIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+        if (filter.size() > maxItemIds) {
+            throw new BusinessLogicException("Cannot subscribe to more than " + maxItemIds + " items");
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new BusinessLogicException("Too many stock stream subscribers, try again later");
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis), filter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.add(subscriber);
+        if (filter.isEmpty()) {
+            allItemSubscribers.add(subscriber);
+        } else {
+            filter.forEach(itemId -> subscribersByItem.compute(itemId, (id, itemSubscribers) -> {
+                Set<Subscriber> updated = itemSubscribers == null ? ConcurrentHashMap.newKeySet() : itemSubscribers;
+                updated.add(subscriber);
+                return updated;
+            }));
+        }
+
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+        log.debug("Stock stream subscribed to {}", filter.isEmpty() ? "all items" : filter.size() + " items");
+        return emitter;
+    }
+
+    /**
+     * Queue a committed stock change for every subscriber of the item.
+     * Dipanggil setelah commit, hanya memasukkan event ke buffer sehingga tidak menahan thread request.
+     */
+    @TransactionalEventListener
+    public void onStockChanged(StockChange change) {
+        Set<Subscriber> itemSubscribers = subscribersByItem.get(change.itemId());
+        if (itemSubscribers != null) {
+            itemSubscribers.forEach(subscriber -> enqueue(subscriber, change));
+        }
+        allItemSubscribers.forEach(subscriber -> enqueue(subscriber, change));
+    }
+
+    /**
+     * Send a comment to every subscriber so dead connections and idle proxies are detected
+     */
+    @Scheduled(fixedDelayString = "${stock.stream.heartbeat-interval-ms:15000}",
+            initialDelayString = "${stock.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue.set(true);
+            scheduleDrain(subscriber);
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::close);
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, StockChange change) {
+        if (!subscriber.buffer.offer(change)) {
+            // Client tidak mengikuti laju event, delta berikutnya tidak lagi bisa dipercaya
+            log.debug("Stock stream subscriber buffer full, disconnecting");
+            stockMetrics.recordStreamOverflow();
+            close(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException ex) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                if (subscriber.heartbeatDue.getAndSet(false)) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                StockChange change;
+                while ((change = subscriber.buffer.poll()) != null) {
+                    subscriber.emitter.send(SseEmitter.event().name("stock").data(change));
+                }
+                subscriber.draining.set(false);
+                // Event yang masuk setelah poll terakhir tapi sebelum flag dilepas tetap dikirim di sini
+            } while ((!subscriber.buffer.isEmpty() || subscriber.heartbeatDue.get())
+                    && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Stock stream subscriber disconnected: {}", ex.getMessage());
+            close(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (unsubscribe(subscriber)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscribers.remove(subscriber);
+        allItemSubscribers.remove(subscriber);
+        subscriber.itemIds.forEach(itemId -> subscribersByItem.computeIfPresent(itemId, (id, itemSubscribers) -> {
+            itemSubscribers.remove(subscriber);
+            return itemSubscribers.isEmpty() ? null : itemSubscribers;
+        }));
+        subscriber.buffer.clear();
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Integer> itemIds;
+        private final BlockingQueue<StockChange> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Set<Integer> itemIds, BlockingQueue<StockChange> buffer) {
+            this.emitter = emitter;
+            this.itemIds = itemIds;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.stationery.util;
+
+import com.stationery.exception.BusinessLogicException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encode/decode cursor keyset pagination. Cursor bersifat opaque bagi client,
+ * isinya adalah sort key (id) dari baris terakhir di page sebelumnya.
+ */
+public final class CursorCodec {
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Object key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Integer decodeInteger(String cursor) {
+        try {
+            return Integer.valueOf(decode(cursor));
+        } catch (NumberFormatException ex) {
+            throw new BusinessLogicException("Invalid cursor");
+        }
+    }
+
+    public static Long decodeLong(String cursor) {
+        try {
+            return Long.valueOf(decode(cursor));
+        } catch (NumberFormatException ex) {
+            throw new BusinessLogicException("Invalid cursor");
+        }
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessLogicException("Invalid cursor");
+        }
+    }
+}
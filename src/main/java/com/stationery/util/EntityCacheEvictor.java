@@ -0,0 +1,43 @@
+package com.stationery.util;
+
+import com.stationery.entity.Item;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evict entity dari second-level cache setelah transaksi commit.
+ * READ_WRITE cache sudah meng-update entry sendiri, eviction eksplisit ini menjaga agar
+ * perubahan yang tidak lewat Hibernate (SQL langsung, node lain) tidak terbaca stale terlalu lama.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EntityCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evict the cached item once the current transaction commits
+     */
+    public void evictItemAfterCommit(Integer itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictItem(itemId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictItem(itemId);
+            }
+        });
+    }
+
+    private void evictItem(Integer itemId) {
+        entityManagerFactory.getCache().evict(Item.class, itemId);
+        log.debug("Evicted item {} from second-level cache", itemId);
+    }
+}
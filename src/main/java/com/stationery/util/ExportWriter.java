@@ -0,0 +1,74 @@
+package com.stationery.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stationery.enums.DataFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Menulis baris export satu per satu ke output stream dalam format CSV atau NDJSON.
+ */
+public class ExportWriter<T> implements AutoCloseable {
+
+    private final BufferedWriter writer;
+    private final DataFormat format;
+    private final ObjectMapper objectMapper;
+    private final Function<T, Object[]> csvColumns;
+
+    public ExportWriter(OutputStream outputStream, DataFormat format, ObjectMapper objectMapper,
+                        String[] csvHeader, Function<T, Object[]> csvColumns) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.csvColumns = csvColumns;
+        if (format == DataFormat.CSV) {
+            writeLine(String.join(",", csvHeader));
+        }
+    }
+
+    /**
+     * Write one row, IOException dibungkus supaya bisa dipakai sebagai Consumer
+     */
+    public void write(T row) {
+        try {
+            writeLine(format == DataFormat.NDJSON
+                    ? objectMapper.writeValueAsString(row)
+                    : Arrays.stream(csvColumns.apply(row)).map(ExportWriter::csvValue).collect(Collectors.joining(",")));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,24 @@
+package com.stationery.util;
+
+import com.stationery.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hapus Idempotency-Key yang sudah lewat TTL supaya tabel idempotency_key tidak tumbuh tanpa batas
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.cleanup.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class IdempotencyKeyCleanupJob {
+
+    private final IdempotencyService idempotencyService;
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup.interval-ms:600000}",
+            initialDelayString = "${idempotency.cleanup.interval-ms:600000}")
+    public int deleteExpiredKeys() {
+        return idempotencyService.deleteExpiredKeys();
+    }
+}
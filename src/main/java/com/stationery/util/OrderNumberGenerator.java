@@ -1,25 +1,141 @@
 package com.stationery.util;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Utility class to generate sequential order numbers in the format Oxxx,
- * where xxx is a sequential number.
+ * where xxx is a sequential number (minimal 3 digit, O999 dilanjutkan O1000).
+ *
+ * Nomor diambil dari database sequence dengan hi/lo block allocation: setiap node
+ * me-reserve satu block (default 1000 nomor) per round trip, lalu membagikannya
+ * tanpa lock. Nomor tetap unik setelah restart dan di antara beberapa node.
+ * INCREMENT BY sequence sama dengan block size; node dengan block size berbeda gagal start
+ * karena block-nya akan saling tumpang tindih. Sequence baru dimulai setelah order_seq terbesar yang sudah ada.
  */
 @Component
+@Slf4j
 public class OrderNumberGenerator {
 
-    private final AtomicInteger counter = new AtomicInteger(1);
+    private static final String SEQUENCE_NAME = "order_no_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int blockSize;
+
+    private final ReentrantLock allocationLock = new ReentrantLock();
+    private volatile Block currentBlock = Block.EXHAUSTED;
+    private String nextBlockSql;
+
+    public OrderNumberGenerator(JdbcTemplate jdbcTemplate,
+                                EntityManagerFactory entityManagerFactory,
+                                @Value("${order.number.block-size:1000}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Create the backing sequence if needed, outside of any business transaction
+     * karena DDL di beberapa database melakukan implicit commit
+     */
+    @PostConstruct
+    void initSequence() {
+        if (findSequenceIncrement() == null) {
+            long start = initialValue();
+            jdbcTemplate.execute(STR."CREATE SEQUENCE IF NOT EXISTS \{SEQUENCE_NAME} START WITH \{start} INCREMENT BY \{blockSize}");
+            log.info("Created sequence {} starting at {}", SEQUENCE_NAME, start);
+        }
+
+        // Sequence bisa dibuat oleh node lain (atau deploy sebelumnya) dengan block size berbeda
+        Long increment = findSequenceIncrement();
+        if (increment == null || increment != blockSize) {
+            throw new IllegalStateException(STR."Sequence \{SEQUENCE_NAME} increments by \{increment} but order.number.block-size is \{blockSize}");
+        }
+
+        nextBlockSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(SEQUENCE_NAME);
+    }
+
+    /**
+     * First sequence value for a new sequence: setelah nomor terbesar yang sudah dipakai di tabel orders
+     */
+    long initialValue() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(order_seq) FROM orders", Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private Long findSequenceIncrement() {
+        return jdbcTemplate.query(
+                        "SELECT increment FROM information_schema.sequences WHERE UPPER(sequence_name) = UPPER(?)",
+                        (rs, rowNum) -> Long.parseLong(rs.getString(1).trim()), SEQUENCE_NAME)
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
 
     /**
-     * Generates a new order number in the format Oxxx
+     * Generates a new order number in the format Oxxx together with its sequence
      * @return the generated order number
      */
-    public String generateOrderNumber() {
-        // Using text block for better readability (Java 15+)
-        var sequence = counter.getAndIncrement();
+    public OrderNumber nextOrderNumber() {
+        long sequence = nextSequence();
+        return new OrderNumber(sequence, format(sequence));
+    }
+
+    // Minimal 3 digit, nomor di atas 999 tidak dipotong
+    static String format(long sequence) {
         return STR."O\{String.format("%03d", sequence)}";
     }
-}
\ No newline at end of file
+
+    private long nextSequence() {
+        while (true) {
+            Block block = currentBlock;
+            long value = block.next().getAndIncrement();
+            if (value < block.limit()) {
+                return value;
+            }
+            allocateBlock(block);
+        }
+    }
+
+    /**
+     * Reserve a new block from the database sequence, only the first thread
+     * that sees the exhausted block does the round trip.
+     * Memakai ReentrantLock, bukan synchronized, supaya virtual thread tidak ter-pin selama query
+     */
+    private void allocateBlock(Block exhausted) {
+        allocationLock.lock();
+        try {
+            if (currentBlock != exhausted) {
+                return;
+            }
+            Long blockStart = jdbcTemplate.queryForObject(nextBlockSql, Long.class);
+            currentBlock = new Block(new AtomicLong(blockStart), blockStart + blockSize);
+            log.debug("Allocated order number block [{}, {})", blockStart, blockStart + blockSize);
+        } finally {
+            allocationLock.unlock();
+        }
+    }
+
+    /**
+     * Nomor order: sequence disimpan di order_seq untuk keyset pagination, orderNo untuk ditampilkan
+     */
+    public record OrderNumber(long sequence, String orderNo) {
+    }
+
+    private record Block(AtomicLong next, long limit) {
+        static final Block EXHAUSTED = new Block(new AtomicLong(), 0);
+    }
+}
@@ -0,0 +1,34 @@
+package com.stationery.util;
+
+import com.stationery.dto.response.StockChange;
+import com.stationery.service.StockAlertService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evaluasi low-stock alert setelah perubahan stock commit, di thread async
+ * sehingga tidak menambah latency transaksi order dan inventory.
+ */
+@Component
+@ConditionalOnProperty(name = "stock.alert.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class StockAlertListener {
+
+    private final StockAlertService stockAlertService;
+
+    @Async
+    @TransactionalEventListener
+    public void onStockChanged(StockChange change) {
+        try {
+            stockAlertService.evaluate(change.itemId());
+        } catch (RuntimeException ex) {
+            // Status dievaluasi ulang pada perubahan stock berikutnya
+            log.warn("Failed to evaluate stock alert for item {}: {}", change.itemId(), ex.getMessage());
+        }
+    }
+}
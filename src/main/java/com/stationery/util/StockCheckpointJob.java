@@ -0,0 +1,96 @@
+package com.stationery.util;
+
+import com.stationery.repository.ItemRepository;
+import com.stationery.repository.StockCheckpointRepository;
+import com.stationery.service.StockCheckpointService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Background job untuk stock checkpoint. Setiap run memproses satu batch item (round-robin),
+ * satu transaksi pendek per item sehingga lock balance hanya dipegang sebentar.
+ * Verifikasi membandingkan semua checkpoint dengan perhitungan ulang ledger penuh.
+ */
+@Component
+@ConditionalOnProperty(name = "stock.checkpoint.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class StockCheckpointJob {
+
+    private final StockCheckpointService stockCheckpointService;
+    private final ItemRepository itemRepository;
+    private final StockCheckpointRepository stockCheckpointRepository;
+    private final int batchSize;
+    private final int minRows;
+
+    private Integer lastItemId = 0;
+
+    public StockCheckpointJob(StockCheckpointService stockCheckpointService,
+                              ItemRepository itemRepository,
+                              StockCheckpointRepository stockCheckpointRepository,
+                              @Value("${stock.checkpoint.batch-size:100}") int batchSize,
+                              @Value("${stock.checkpoint.min-rows:1000}") int minRows) {
+        this.stockCheckpointService = stockCheckpointService;
+        this.itemRepository = itemRepository;
+        this.stockCheckpointRepository = stockCheckpointRepository;
+        this.batchSize = batchSize;
+        this.minRows = minRows;
+    }
+
+    /**
+     * Checkpoint the next batch of items
+     * @return number of checkpoints written
+     */
+    @Scheduled(fixedDelayString = "${stock.checkpoint.interval-ms:10000}",
+            initialDelayString = "${stock.checkpoint.interval-ms:10000}")
+    public synchronized int checkpointNextBatch() {
+        List<Integer> itemIds = itemRepository.findIdsAfter(lastItemId, PageRequest.of(0, batchSize));
+        // Mulai lagi dari item pertama setelah semua item diproses
+        lastItemId = itemIds.size() < batchSize ? 0 : itemIds.get(itemIds.size() - 1);
+
+        int written = 0;
+        for (Integer itemId : itemIds) {
+            try {
+                if (stockCheckpointService.checkpoint(itemId, minRows)) {
+                    written++;
+                }
+            } catch (RuntimeException ex) {
+                // Item lain tetap diproses, item ini dicoba lagi di putaran berikutnya
+                log.warn("Failed to checkpoint stock of item ID: {}: {}", itemId, ex.getMessage());
+            }
+        }
+        log.debug("Wrote {} stock checkpoints for {} items", written, itemIds.size());
+        return written;
+    }
+
+    /**
+     * Verify every checkpoint against a full recompute of the ledger, batch per batch
+     * @return number of checkpoints that did not match
+     */
+    @Scheduled(fixedDelayString = "${stock.checkpoint.verify-interval-ms:3600000}",
+            initialDelayString = "${stock.checkpoint.verify-interval-ms:3600000}")
+    public int verifyAll() {
+        int mismatched = 0;
+        Integer afterItemId = 0;
+        List<Integer> itemIds;
+        do {
+            itemIds = stockCheckpointRepository.findItemIdsAfter(afterItemId, PageRequest.of(0, batchSize));
+            if (!itemIds.isEmpty()) {
+                mismatched += stockCheckpointService.verify(itemIds).size();
+                afterItemId = itemIds.get(itemIds.size() - 1);
+            }
+        } while (itemIds.size() == batchSize);
+
+        if (mismatched > 0) {
+            log.error("{} stock checkpoints did not match the inventory ledger and were discarded", mismatched);
+        } else {
+            log.info("All stock checkpoints match the inventory ledger");
+        }
+        return mismatched;
+    }
+}
@@ -0,0 +1,73 @@
+package com.stationery.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Metric bisnis untuk stock, dipakai untuk alert jika banyak order ditolak karena stock habis
+ */
+@Component
+@RequiredArgsConstructor
+public class StockMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Count a withdrawal or order rejected because the item has insufficient stock.
+     * Tag item mengikuti jumlah item (bukan input bebas), jadi cardinality tetap terbatas.
+     */
+    public void recordInsufficientStock(Integer itemId) {
+        Counter.builder("stationery.stock.insufficient")
+                .description("Withdrawals and orders rejected because of insufficient stock")
+                .tag("item", String.valueOf(itemId))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Count a stock checkpoint that did not match a full recompute of the ledger
+     */
+    public void recordCheckpointMismatch(Integer itemId) {
+        Counter.builder("stationery.stock.checkpoint.mismatch")
+                .description("Stock checkpoints that differ from a full ledger recompute")
+                .tag("item", String.valueOf(itemId))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Expose the number of open stock stream subscribers
+     */
+    public void bindStreamSubscribers(AtomicInteger subscribers) {
+        Gauge.builder("stationery.stock.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open stock change stream subscribers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count a stream subscriber disconnected because its buffer was full
+     */
+    public void recordStreamOverflow() {
+        Counter.builder("stationery.stock.stream.overflow")
+                .description("Stock stream subscribers disconnected because they could not keep up")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Count an item crossing its reorder threshold, state low atau recovered
+     */
+    public void recordStockAlert(Integer itemId, boolean low) {
+        Counter.builder("stationery.stock.alert")
+                .description("Items crossing their reorder threshold")
+                .tag("item", String.valueOf(itemId))
+                .tag("state", low ? "low" : "recovered")
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,45 @@
+package com.stationery.util;
+
+import com.stationery.service.StockProjectionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Projector outbox stock_event: menghabiskan outbox per batch, satu transaksi per batch
+ */
+@Component
+@ConditionalOnProperty(name = "stock.projection.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class StockProjectionJob {
+
+    private final StockProjectionService stockProjectionService;
+    private final int batchSize;
+
+    public StockProjectionJob(StockProjectionService stockProjectionService,
+                              @Value("${stock.projection.batch-size:500}") int batchSize) {
+        this.stockProjectionService = stockProjectionService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Project outbox events until the outbox is drained
+     * @return number of events projected
+     */
+    @Scheduled(fixedDelayString = "${stock.projection.interval-ms:1000}")
+    public synchronized int projectPendingEvents() {
+        int total = 0;
+        int projected;
+        do {
+            projected = stockProjectionService.projectNextBatch(batchSize);
+            total += projected;
+        } while (projected == batchSize);
+
+        if (total > 0) {
+            log.debug("Projected {} stock events", total);
+        }
+        return total;
+    }
+}
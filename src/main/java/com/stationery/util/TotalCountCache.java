@@ -0,0 +1,80 @@
+package com.stationery.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache total count untuk list endpoint yang masih menampilkan jumlah halaman.
+ * Nilai dihitung sekali saat pertama diminta, lalu di-refresh di background,
+ * sehingga request list tidak perlu menjalankan COUNT. Nilainya bisa tertinggal
+ * paling lama satu interval refresh.
+ */
+@Component
+@Slf4j
+public class TotalCountCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long idleExpiryMillis;
+    private final int maxEntries;
+
+    public TotalCountCache(@Value("${list.count-cache.idle-expiry-ms:600000}") long idleExpiryMillis,
+                           @Value("${list.count-cache.max-entries:1000}") int maxEntries) {
+        this.idleExpiryMillis = idleExpiryMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the cached count for the key, menghitung langsung jika belum ada di cache
+     */
+    public long get(String key, LongSupplier counter) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            long count = counter.getAsLong();
+            if (entries.size() >= maxEntries) {
+                // Cache penuh, nilai tidak disimpan agar key per item tidak tumbuh tanpa batas
+                return count;
+            }
+            entry = entries.computeIfAbsent(key, k -> new Entry(counter, count));
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.count;
+    }
+
+    /**
+     * Refresh all cached counts and drop the ones that have not been read recently
+     */
+    @Scheduled(fixedDelayString = "${list.count-cache.refresh-interval-ms:60000}",
+            initialDelayString = "${list.count-cache.refresh-interval-ms:60000}")
+    public void refresh() {
+        long idleSince = System.currentTimeMillis() - idleExpiryMillis;
+        entries.entrySet().removeIf(e -> e.getValue().lastAccess < idleSince);
+
+        entries.forEach((key, entry) -> {
+            try {
+                entry.count = entry.counter.getAsLong();
+            } catch (RuntimeException ex) {
+                // Nilai lama tetap dipakai sampai refresh berikutnya berhasil
+                log.warn("Failed to refresh total count for {}: {}", key, ex.getMessage());
+            }
+        });
+        log.debug("Refreshed {} cached total counts", entries.size());
+    }
+
+    private static class Entry {
+        private final LongSupplier counter;
+        private volatile long count;
+        private volatile long lastAccess;
+
+        Entry(LongSupplier counter, long count) {
+            this.counter = counter;
+            this.count = count;
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -22,6 +22,24 @@ INSERT INTO inventory (id, item_id, qty, type, order_id) VALUES (8, 8, 60, 'T',
 INSERT INTO inventory (id, item_id, qty, type, order_id) VALUES (9, 9, 45, 'T', NULL);
 INSERT INTO inventory (id, item_id, qty, type, order_id) VALUES (10, 10, 30, 'T', NULL);
 
+-- Initial Stock Balance Data (dihitung dari ledger inventory)
+INSERT INTO stock_balance (item_id, qty)
+SELECT it.id, COALESCE(SUM(CASE WHEN inv.type = 'T' THEN inv.qty ELSE -inv.qty END), 0)
+FROM item it LEFT JOIN inventory inv ON inv.item_id = it.id
+GROUP BY it.id;
+
+-- Initial Stock Projection Data (read model outbox, dihitung dari ledger yang sama)
+INSERT INTO stock_projection (item_id, qty, top_up_qty, withdrawal_qty, top_up_count, withdrawal_count, updated_at)
+SELECT it.id,
+       COALESCE(SUM(CASE WHEN inv.type = 'T' THEN inv.qty ELSE -inv.qty END), 0),
+       COALESCE(SUM(CASE WHEN inv.type = 'T' THEN inv.qty ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN inv.type = 'W' THEN inv.qty ELSE 0 END), 0),
+       COUNT(CASE WHEN inv.type = 'T' THEN 1 END),
+       COUNT(CASE WHEN inv.type = 'W' THEN 1 END),
+       CURRENT_TIMESTAMP
+FROM item it LEFT JOIN inventory inv ON inv.item_id = it.id
+GROUP BY it.id;
+
 -- Reset sequences to continue from our initial data
 ALTER TABLE item ALTER COLUMN id RESTART WITH 11;
 ALTER TABLE inventory ALTER COLUMN id RESTART WITH 11;
\ No newline at end of file
@@ -0,0 +1,331 @@
+package com.stationery.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.enums.InventoryType;
+import com.stationery.service.InventoryService;
+import com.stationery.service.ItemService;
+import com.stationery.service.StockBalanceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test end-to-end lewat HTTP terhadap controller asli dengan client di virtual thread.
+ * Tidak ikut dijalankan di build biasa, contoh menjalankan:
+ * mvn test -Dtest=HttpLoadTest -Dloadtest=true -Dloadtest.duration=60 -Dloadtest.concurrency=128
+ *     -Dloadtest.virtual-threads=true
+ *     -Dloadtest.mix=items:70,orders:20,topups:10 -Dloadtest.output=target/loadtest-result.json
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=${loadtest.virtual-threads:false}")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class HttpLoadTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    enum Operation { ITEMS, ORDERS, TOPUPS }
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.security.user.name}")
+    private String username;
+
+    @Value("${spring.security.user.password}")
+    private String password;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockBalanceService stockBalanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 30));
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        int itemCount = Integer.getInteger("loadtest.items", 50);
+        int initialStock = Integer.getInteger("loadtest.initial-stock", 1000);
+        Map<Operation, Integer> mix = parseMix(System.getProperty("loadtest.mix", "items:70,orders:20,topups:10"));
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest-result.json"));
+
+        // Given
+        int[] itemIds = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            itemIds[i] = createItemWithStock("Item Load Test " + i, initialStock);
+        }
+        String authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        int itemPages = Math.max(1, itemService.getAllItemsWithStock(
+                PageRequest.of(0, PAGE_SIZE)).getTotalPages());
+
+        // Qty yang diterima server per item, untuk cek invariant di akhir
+        AtomicLongArray orderedQty = new AtomicLongArray(itemCount);
+        AtomicLongArray toppedUpQty = new AtomicLongArray(itemCount);
+
+        List<WorkerStats> workerStats = new ArrayList<>();
+        Instant start = Instant.now();
+        Instant deadline = start.plus(duration);
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+            List<Future<WorkerStats>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> {
+                    WorkerStats stats = new WorkerStats();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (Instant.now().isBefore(deadline)) {
+                        Operation operation = pick(mix, random.nextInt(100));
+                        int itemIndex = random.nextInt(itemCount);
+                        int qty = operation == Operation.TOPUPS ? random.nextInt(1, 21) : random.nextInt(1, 6);
+                        HttpRequest request = buildRequest(operation, itemIds[itemIndex], qty,
+                                random.nextInt(itemPages), authorization);
+
+                        long begin = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException ex) {
+                            status = -1;
+                        }
+                        stats.record(operation, status, System.nanoTime() - begin);
+
+                        if (status == 201 && operation == Operation.ORDERS) {
+                            orderedQty.addAndGet(itemIndex, qty);
+                        } else if (status == 201 && operation == Operation.TOPUPS) {
+                            toppedUpQty.addAndGet(itemIndex, qty);
+                        }
+                    }
+                    return stats;
+                }));
+            }
+            for (Future<WorkerStats> future : futures) {
+                workerStats.add(future.get());
+            }
+        }
+        double elapsedSeconds = Duration.between(start, Instant.now()).toMillis() / 1000.0;
+
+        // Then
+        Map<String, Object> invariants = checkInvariants(itemIds, initialStock, orderedQty, toppedUpQty);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startedAt", start.toString());
+        result.put("durationSeconds", elapsedSeconds);
+        result.put("concurrency", concurrency);
+        result.put("virtualThreads", virtualThreads);
+        result.put("items", itemCount);
+        result.put("mix", mix);
+        result.put("operations", summarize(workerStats, elapsedSeconds));
+        result.put("invariants", invariants);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), result);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+
+        assertEquals(0L, invariants.get("negativeStockItems"), "Stock must never go negative");
+        assertEquals(0L, invariants.get("balanceMismatches"), "stock_balance must match the ledger");
+        assertEquals(0L, invariants.get("expectedStockMismatches"), "Stock must match accepted orders and top-ups");
+    }
+
+    private HttpRequest buildRequest(Operation operation, int itemId, int qty, int page, String authorization) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .header("Authorization", authorization)
+                .timeout(Duration.ofSeconds(30));
+        return switch (operation) {
+            case ITEMS -> builder
+                    .uri(uri(STR."/api/items?page=\{page}&size=\{PAGE_SIZE}"))
+                    .GET()
+                    .build();
+            case ORDERS -> builder
+                    .uri(uri("/api/orders"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(STR."{\"itemId\":\{itemId},\"qty\":\{qty}}"))
+                    .build();
+            case TOPUPS -> builder
+                    .uri(uri("/api/inventories"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(STR."{\"itemId\":\{itemId},\"qty\":\{qty},\"type\":\"T\"}"))
+                    .build();
+        };
+    }
+
+    private URI uri(String path) {
+        return URI.create(STR."http://localhost:\{port}\{path}");
+    }
+
+    private Map<String, Object> checkInvariants(int[] itemIds, int initialStock,
+                                                AtomicLongArray orderedQty, AtomicLongArray toppedUpQty) {
+        long negative = 0;
+        long balanceMismatches = 0;
+        long expectedMismatches = 0;
+        for (int i = 0; i < itemIds.length; i++) {
+            int balance = stockBalanceService.getStock(itemIds[i]);
+            Long ledger = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(CASE WHEN type = 'T' THEN qty ELSE -qty END), 0) FROM inventory WHERE item_id = ?",
+                    Long.class, itemIds[i]);
+            long expected = initialStock + toppedUpQty.get(i) - orderedQty.get(i);
+
+            if (balance < 0) negative++;
+            if (ledger == null || ledger != balance) balanceMismatches++;
+            if (expected != balance) expectedMismatches++;
+        }
+        Map<String, Object> invariants = new LinkedHashMap<>();
+        invariants.put("checkedItems", itemIds.length);
+        invariants.put("negativeStockItems", negative);
+        invariants.put("balanceMismatches", balanceMismatches);
+        invariants.put("expectedStockMismatches", expectedMismatches);
+        return invariants;
+    }
+
+    private Map<Operation, Map<String, Object>> summarize(List<WorkerStats> workerStats, double elapsedSeconds) {
+        Map<Operation, Map<String, Object>> summary = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            long[] latencies = workerStats.stream()
+                    .flatMapToLong(stats -> stats.latencies.get(operation).stream().mapToLong(Long::longValue))
+                    .sorted()
+                    .toArray();
+            long success = workerStats.stream().mapToLong(stats -> stats.success[operation.ordinal()]).sum();
+            long rejected = workerStats.stream().mapToLong(stats -> stats.rejected[operation.ordinal()]).sum();
+            long shed = workerStats.stream().mapToLong(stats -> stats.shed[operation.ordinal()]).sum();
+            long errors = workerStats.stream().mapToLong(stats -> stats.errors[operation.ordinal()]).sum();
+
+            Map<String, Object> op = new LinkedHashMap<>();
+            op.put("requests", latencies.length);
+            op.put("throughputPerSecond", latencies.length / elapsedSeconds);
+            op.put("success", success);
+            // 4xx (misalnya stock tidak cukup) dihitung terpisah dari error server/koneksi
+            op.put("rejected", rejected);
+            // 503 = ditolak karena antrian connection database penuh
+            op.put("shed", shed);
+            op.put("errors", errors);
+            op.put("errorRate", latencies.length == 0 ? 0.0 : (double) errors / latencies.length);
+            op.put("latencyMillis", Map.of(
+                    "p50", percentile(latencies, 50),
+                    "p90", percentile(latencies, 90),
+                    "p99", percentile(latencies, 99),
+                    "p999", percentile(latencies, 99.9),
+                    "max", latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1e6));
+            summary.put(operation, op);
+        }
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, int roll) {
+        int cumulative = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            cumulative += entry.getValue();
+            if (roll < cumulative) {
+                return entry.getKey();
+            }
+        }
+        return Operation.ITEMS;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        Arrays.stream(value.split(",")).forEach(part -> {
+            String[] pair = part.split(":");
+            mix.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        });
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        assertEquals(100, total, "loadtest.mix percentages must add up to 100");
+        return mix;
+    }
+
+    private Integer createItemWithStock(String name, int stock) {
+        Integer itemId = itemService.createItem(ItemDto.builder()
+                .name(name)
+                .price(1000.0)
+                .build()).getId();
+        inventoryService.createInventory(InventoryDto.builder()
+                .itemId(itemId)
+                .qty(stock)
+                .type(InventoryType.T)
+                .build());
+        return itemId;
+    }
+
+    /**
+     * Statistik per virtual thread, digabung setelah semua worker selesai
+     */
+    private static class WorkerStats {
+        private final Map<Operation, List<Long>> latencies = new EnumMap<>(Operation.class);
+        private final long[] success = new long[Operation.values().length];
+        private final long[] rejected = new long[Operation.values().length];
+        private final long[] shed = new long[Operation.values().length];
+        private final long[] errors = new long[Operation.values().length];
+
+        WorkerStats() {
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new ArrayList<>());
+            }
+        }
+
+        void record(Operation operation, int status, long nanos) {
+            latencies.get(operation).add(nanos);
+            if (status >= 200 && status < 300) {
+                success[operation.ordinal()]++;
+            } else if (status >= 400 && status < 500) {
+                rejected[operation.ordinal()]++;
+            } else if (status == 503) {
+                shed[operation.ordinal()]++;
+            } else {
+                errors[operation.ordinal()]++;
+            }
+        }
+    }
+}
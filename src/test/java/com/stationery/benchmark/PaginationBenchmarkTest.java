@@ -0,0 +1,120 @@
+package com.stationery.benchmark;
+
+import com.stationery.dto.ItemDto;
+import com.stationery.enums.InventoryType;
+import com.stationery.service.InventoryService;
+import com.stationery.service.ItemService;
+import com.stationery.service.StockBalanceService;
+import com.stationery.util.CursorCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Membandingkan latency offset pagination dan keyset pagination di page 1 dan page 10.000.
+ * Tidak ikut dijalankan di build biasa, jalankan dengan:
+ * mvn test -Dtest=PaginationBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class PaginationBenchmarkTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 10_000;
+    private static final int LEDGER_ROWS = PAGE_SIZE * (DEEP_PAGE + 1);
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 50;
+    private static final int CLEANUP_CHUNK_ROWS = 100_000;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private StockBalanceService stockBalanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer itemId;
+
+    @BeforeAll
+    void seedLedger() {
+        itemId = itemService.createItem(ItemDto.builder()
+                .name("Item Benchmark Pagination")
+                .price(1000.0)
+                .build()).getId();
+
+        jdbcTemplate.batchUpdate("INSERT INTO inventory (item_id, qty, type, order_id) VALUES (?, 1, 'T', NULL)",
+                Collections.nCopies(LEDGER_ROWS, itemId), 1000, (ps, id) -> ps.setInt(1, id));
+        stockBalanceService.apply(itemId, InventoryType.T, LEDGER_ROWS);
+    }
+
+    @AfterAll
+    void removeLedger() {
+        // Ledger benchmark tidak boleh tertinggal untuk test lain yang memakai context dan database yang sama
+        Integer firstId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM inventory WHERE item_id = ?", Integer.class, itemId);
+        Integer lastId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM inventory WHERE item_id = ?", Integer.class, itemId);
+        for (long from = firstId; from <= lastId; from += CLEANUP_CHUNK_ROWS) {
+            jdbcTemplate.update("DELETE FROM inventory WHERE item_id = ? AND id BETWEEN ? AND ?",
+                    itemId, from, from + CLEANUP_CHUNK_ROWS - 1);
+        }
+        itemService.deleteItem(itemId);
+    }
+
+    @Test
+    void keysetPageLatencyStaysFlatAtDeepPages() {
+        Integer deepCursorKey = jdbcTemplate.queryForObject(
+                "SELECT id FROM inventory WHERE item_id = ? ORDER BY id LIMIT 1 OFFSET ?",
+                Integer.class, itemId, DEEP_PAGE * PAGE_SIZE - 1);
+        String deepCursor = CursorCodec.encode(deepCursorKey);
+
+        long offsetFirst = medianNanos(() -> inventoryService.getInventoriesByItemId(itemId, PageRequest.of(0, PAGE_SIZE)));
+        long offsetDeep = medianNanos(() -> inventoryService.getInventoriesByItemId(itemId, PageRequest.of(DEEP_PAGE, PAGE_SIZE)));
+        long cursorFirst = medianNanos(() -> inventoryService.getInventoriesByItemIdAndCursor(itemId, "", PAGE_SIZE));
+        long cursorDeep = medianNanos(() -> inventoryService.getInventoriesByItemIdAndCursor(itemId, deepCursor, PAGE_SIZE));
+
+        System.out.printf("%nPagination benchmark (%d ledger rows, page size %d, median of %d runs)%n",
+                LEDGER_ROWS, PAGE_SIZE, MEASURED_RUNS);
+        System.out.printf("  offset page 1      : %8.3f ms%n", offsetFirst / 1e6);
+        System.out.printf("  offset page %d : %8.3f ms%n", DEEP_PAGE, offsetDeep / 1e6);
+        System.out.printf("  cursor page 1      : %8.3f ms%n", cursorFirst / 1e6);
+        System.out.printf("  cursor page %d : %8.3f ms%n", DEEP_PAGE, cursorDeep / 1e6);
+
+        assertEquals(PAGE_SIZE, inventoryService.getInventoriesByItemIdAndCursor(itemId, deepCursor, PAGE_SIZE).content().size());
+        // Page dalam dengan cursor harus tetap sekelas page pertama (toleransi untuk noise JIT/GC)
+        assertTrue(cursorDeep <= Math.max(cursorFirst * 3, cursorFirst + 2_000_000),
+                "Keyset page " + DEEP_PAGE + " is not flat compared to page 1");
+    }
+
+    private static long medianNanos(Supplier<?> call) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            call.get();
+        }
+        long[] samples = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            call.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[MEASURED_RUNS / 2];
+    }
+}
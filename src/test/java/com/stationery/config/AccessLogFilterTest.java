@@ -0,0 +1,94 @@
+package com.stationery.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccessLogFilterTest {
+
+    @Mock
+    private AccessLogWriter accessLogWriter;
+
+    @Test
+    void reasonToLog_ErrorsAndSlowRequestsAreAlwaysLogged() {
+        // Given
+        AccessLogFilter filter = new AccessLogFilter(accessLogWriter, "GET /api/items=0", 0.0, 500, 1024);
+
+        // When & Then
+        assertEquals("error", filter.reasonToLog("GET /api/items", 400, 1));
+        assertEquals("slow", filter.reasonToLog("GET /api/items", 200, 500));
+        assertNull(filter.reasonToLog("GET /api/items", 200, 1));
+    }
+
+    @Test
+    void reasonToLog_UsesPerEndpointSampleRate() {
+        // Given
+        AccessLogFilter filter = new AccessLogFilter(accessLogWriter, "POST /api/orders=1.0, GET /api/items=0", 0.0, 500, 1024);
+
+        // When & Then
+        assertEquals("sampled", filter.reasonToLog("POST /api/orders", 201, 1));
+        assertNull(filter.reasonToLog("GET /api/items", 200, 1));
+        assertNull(filter.reasonToLog("GET /api/orders", 200, 1));
+    }
+
+    @Test
+    void doFilter_CapturesPayloadOnlyForErrors() throws Exception {
+        // Given
+        AccessLogFilter filter = new AccessLogFilter(accessLogWriter, "", 1.0, 10_000, 1024);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        request.setContent("{\"itemId\":1,\"qty\":999}".getBytes(StandardCharsets.UTF_8));
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> {
+            req.getInputStream().readAllBytes();
+            ((MockHttpServletResponse) res).setStatus(400);
+        });
+
+        // Then
+        ArgumentCaptor<AccessLogWriter.AccessLogRecord> captor = ArgumentCaptor.forClass(AccessLogWriter.AccessLogRecord.class);
+        verify(accessLogWriter, times(1)).submit(captor.capture());
+        assertEquals("error", captor.getValue().reason());
+        assertEquals("POST /api/orders", captor.getValue().endpoint());
+        assertEquals("{\"itemId\":1,\"qty\":999}", captor.getValue().payload());
+    }
+
+    @Test
+    void doFilter_SampledRequestHasNoPayload() throws Exception {
+        // Given
+        AccessLogFilter filter = new AccessLogFilter(accessLogWriter, "", 1.0, 10_000, 1024);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        request.setContent("{\"itemId\":1,\"qty\":1}".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.getInputStream().readAllBytes());
+
+        // Then
+        verify(accessLogWriter, times(1)).submit(argThat(record -> "sampled".equals(record.reason()) && record.payload() == null));
+    }
+
+    @Test
+    void doFilter_NotSampledIsNotSubmitted() throws Exception {
+        // Given
+        AccessLogFilter filter = new AccessLogFilter(accessLogWriter, "", 0.0, 10_000, 1024);
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/items"), new MockHttpServletResponse(), (req, res) -> { });
+
+        // Then
+        verify(accessLogWriter, never()).submit(any());
+    }
+}
@@ -0,0 +1,90 @@
+package com.stationery.config;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Access log berjalan di luar security filter: request yang ditolak tetap tercatat,
+ * request yang lolos tercatat beserta user-nya
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "access-log.default-sample-rate=1.0")
+@ActiveProfiles("test")
+public class AccessLogIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.security.user.name}")
+    private String username;
+
+    @Value("${spring.security.user.password}")
+    private String password;
+
+    @MockBean
+    private AccessLogWriter accessLogWriter;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void unauthenticatedRequestIsLogged() throws Exception {
+        // When
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri("/api/items")).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        // Then
+        assertEquals(401, response.statusCode());
+        AccessLogWriter.AccessLogRecord record = lastRecord();
+        assertEquals(401, record.status());
+        assertEquals("error", record.reason());
+        assertEquals("/api/items", record.path());
+        assertNull(record.user());
+    }
+
+    @Test
+    void authenticatedRequestIsLoggedWithUser() throws Exception {
+        // Given
+        String authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+
+        // When
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri("/api/items"))
+                        .header("Authorization", authorization)
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        // Then
+        assertEquals(200, response.statusCode());
+        AccessLogWriter.AccessLogRecord record = lastRecord();
+        assertEquals(200, record.status());
+        assertEquals("GET /api/items", record.endpoint());
+        assertEquals(username, record.user());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private AccessLogWriter.AccessLogRecord lastRecord() {
+        // Record disubmit di finally filter, bisa sedikit setelah response diterima client
+        ArgumentCaptor<AccessLogWriter.AccessLogRecord> captor = ArgumentCaptor.forClass(AccessLogWriter.AccessLogRecord.class);
+        verify(accessLogWriter, timeout(5000).atLeastOnce()).submit(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,46 @@
+package com.stationery.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessLogWriterTest {
+
+    @Test
+    void submit_DropsRecordsWhenQueueIsFull() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AccessLogWriter writer = new AccessLogWriter(new ObjectMapper(), registry, 1);
+
+        // When
+        boolean first = writer.submit(record(200));
+        boolean second = writer.submit(record(500));
+
+        // Then
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(1, writer.queuedCount());
+        assertEquals(1.0, registry.get("stationery.accesslog.dropped").counter().count());
+    }
+
+    @Test
+    void stop_WritesRemainingRecords() throws InterruptedException {
+        // Given
+        AccessLogWriter writer = new AccessLogWriter(new ObjectMapper(), new SimpleMeterRegistry(), 10);
+        writer.start();
+        writer.submit(record(200));
+
+        // When
+        writer.stop();
+
+        // Then
+        assertEquals(0, writer.queuedCount());
+    }
+
+    private static AccessLogWriter.AccessLogRecord record(int status) {
+        return new AccessLogWriter.AccessLogRecord("2024-01-01T00:00:00Z", "GET", "/api/items", "GET /api/items",
+                null, status, 5, "admin", "127.0.0.1", "sampled", null);
+    }
+}
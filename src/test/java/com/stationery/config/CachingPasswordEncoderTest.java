@@ -0,0 +1,73 @@
+package com.stationery.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingPasswordEncoderTest {
+
+    private static final String HASH = "$2a$10$hash";
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private CachingPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new CachingPasswordEncoder(delegate, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void matches_VerifiedCredentialIsServedFromCache() {
+        // Given
+        when(delegate.matches("admin123", HASH)).thenReturn(true);
+
+        // When
+        boolean first = encoder.matches("admin123", HASH);
+        boolean second = encoder.matches("admin123", HASH);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(delegate, times(1)).matches("admin123", HASH);
+    }
+
+    @Test
+    void matches_WrongPasswordIsNeverCached() {
+        // Given
+        when(delegate.matches("wrong", HASH)).thenReturn(false);
+
+        // When
+        encoder.matches("wrong", HASH);
+        boolean second = encoder.matches("wrong", HASH);
+
+        // Then
+        assertFalse(second);
+        verify(delegate, times(2)).matches("wrong", HASH);
+    }
+
+    @Test
+    void matches_ChangedHashIsVerifiedAgain() {
+        // Given
+        when(delegate.matches("admin123", HASH)).thenReturn(true);
+        when(delegate.matches("admin123", "$2a$10$other")).thenReturn(false);
+        encoder.matches("admin123", HASH);
+
+        // When
+        boolean result = encoder.matches("admin123", "$2a$10$other");
+
+        // Then
+        assertFalse(result);
+        verify(delegate, times(1)).matches("admin123", "$2a$10$other");
+    }
+}
@@ -0,0 +1,70 @@
+package com.stationery.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(target, 1, 50, 10);
+    }
+
+    @Test
+    void getConnection_ReleasesPermitOnClose() throws SQLException {
+        // Given
+        when(target.getConnection()).thenReturn(connection);
+
+        // When
+        Connection borrowed = dataSource.getConnection();
+        borrowed.close();
+        borrowed.close();
+
+        // Then
+        assertEquals(1, dataSource.getAvailablePermits());
+        assertTrue(borrowed.isClosed());
+        verify(connection, times(1)).close();
+        verify(connection, never()).isClosed();
+    }
+
+    @Test
+    void getConnection_TimesOutWhenAllPermitsBorrowed() throws SQLException {
+        // Given
+        when(target.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+
+        // When & Then
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_ReleasesPermitWhenTargetFails() throws SQLException {
+        // Given
+        when(target.getConnection()).thenThrow(new SQLException("database down"));
+
+        // When & Then
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+}
@@ -0,0 +1,180 @@
+package com.stationery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.dto.OrderDto;
+import com.stationery.enums.DataFormat;
+import com.stationery.enums.InventoryType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportOrders_Csv_WritesHeaderAndQuotesSpecialCharacters() throws IOException {
+        // Given
+        Integer itemId = createItemWithStock("Pen, \"Blue\"\r\nRefill", 100);
+        OrderDto order = orderService.createOrder(OrderDto.builder().itemId(itemId).qty(3).build());
+
+        // When
+        String csv = export(out -> exportService.exportOrders(itemId, DataFormat.CSV, null, out));
+
+        // Then
+        String expected = "id,orderNo,itemId,itemName,qty,price,totalPrice" + System.lineSeparator()
+                + order.getId() + "," + order.getOrderNo() + "," + itemId + ",\"Pen, \"\"Blue\"\"\r\nRefill\",3,1000.0,3000.0"
+                + System.lineSeparator();
+        assertEquals(expected, csv);
+    }
+
+    @Test
+    void resolveFetchSize_IsClampedToMaximum() {
+        // Given
+        ExportService target = AopTestUtils.getTargetObject(exportService);
+
+        // When & Then
+        assertEquals(500, target.resolveFetchSize(null));
+        assertEquals(100, target.resolveFetchSize(100));
+        assertEquals(5000, target.resolveFetchSize(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void exportInventories_Ndjson_WritesOneJsonObjectPerLine() throws IOException {
+        // Given
+        Integer itemId = createItemWithStock("Item Export NDJSON", 100);
+        OrderDto order = orderService.createOrder(OrderDto.builder().itemId(itemId).qty(5).build());
+
+        // When
+        String ndjson = export(out -> exportService.exportInventories(itemId, DataFormat.NDJSON, null, out));
+
+        // Then
+        List<InventoryDto> rows = new ArrayList<>();
+        for (String line : ndjson.split(System.lineSeparator())) {
+            rows.add(objectMapper.readValue(line, InventoryDto.class));
+        }
+        assertEquals(2, rows.size());
+        assertEquals(InventoryType.T, rows.get(0).getType());
+        assertEquals(100, rows.get(0).getQty());
+        assertNull(rows.get(0).getOrderId());
+        assertEquals(InventoryType.W, rows.get(1).getType());
+        assertEquals(order.getId(), rows.get(1).getOrderId());
+        assertEquals("Item Export NDJSON", rows.get(1).getItemName());
+    }
+
+    @Test
+    void exportOrders_ItemFilter_OnlyExportsThatItem() throws IOException {
+        // Given
+        Integer itemId = createItemWithStock("Item Export Filter", 100);
+        Integer otherItemId = createItemWithStock("Item Export Other", 100);
+        orderService.createOrder(OrderDto.builder().itemId(itemId).qty(1).build());
+        orderService.createOrder(OrderDto.builder().itemId(itemId).qty(2).build());
+        orderService.createOrder(OrderDto.builder().itemId(otherItemId).qty(1).build());
+
+        // When
+        String filtered = export(out -> exportService.exportOrders(itemId, DataFormat.NDJSON, null, out));
+        String all = export(out -> exportService.exportOrders(null, DataFormat.NDJSON, 2, out));
+
+        // Then
+        List<OrderDto> filteredRows = parseOrders(filtered);
+        List<OrderDto> allRows = parseOrders(all);
+        assertEquals(2, filteredRows.size());
+        assertTrue(filteredRows.stream().allMatch(order -> order.getItemId().equals(itemId)));
+        assertTrue(allRows.stream().anyMatch(order -> order.getItemId().equals(otherItemId)));
+        assertTrue(allRows.size() > filteredRows.size());
+    }
+
+    @Test
+    void exportInventories_WritesToStreamWhileScrolling() throws IOException {
+        // Given
+        // Nama panjang supaya output jauh lebih besar dari buffer writer
+        Integer itemId = createItemWithStock("Item Export Stream " + "x".repeat(200), 1);
+        for (int i = 0; i < 200; i++) {
+            inventoryService.createInventory(InventoryDto.builder()
+                    .itemId(itemId)
+                    .qty(1)
+                    .type(InventoryType.T)
+                    .build());
+        }
+        ChunkRecordingOutputStream out = new ChunkRecordingOutputStream();
+
+        // When
+        exportService.exportInventories(itemId, DataFormat.CSV, 10, out);
+
+        // Then
+        // Output dikirim bertahap selama cursor dibaca, bukan sekali di akhir
+        assertTrue(out.chunks.size() > 1);
+        assertTrue(out.chunks.get(0) < out.size());
+        assertEquals(202, out.toString(StandardCharsets.UTF_8).split(System.lineSeparator()).length);
+    }
+
+    private Integer createItemWithStock(String name, int qty) {
+        Integer itemId = itemService.createItem(ItemDto.builder()
+                .name(name)
+                .price(1000.0)
+                .build()).getId();
+        inventoryService.createInventory(InventoryDto.builder()
+                .itemId(itemId)
+                .qty(qty)
+                .type(InventoryType.T)
+                .build());
+        return itemId;
+    }
+
+    private List<OrderDto> parseOrders(String ndjson) throws IOException {
+        List<OrderDto> rows = new ArrayList<>();
+        for (String line : ndjson.split(System.lineSeparator())) {
+            rows.add(objectMapper.readValue(line, OrderDto.class));
+        }
+        return rows;
+    }
+
+    private String export(ExportCall call) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        call.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface ExportCall {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private static class ChunkRecordingOutputStream extends ByteArrayOutputStream {
+        private final List<Integer> chunks = new ArrayList<>();
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            chunks.add(len);
+            super.write(b, off, len);
+        }
+    }
+}
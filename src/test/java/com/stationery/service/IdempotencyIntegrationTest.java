@@ -0,0 +1,216 @@
+package com.stationery.service;
+
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.dto.OrderDto;
+import com.stationery.dto.response.IdempotentResult;
+import com.stationery.enums.InventoryType;
+import com.stationery.exception.IdempotencyConflictException;
+import com.stationery.exception.InsufficientStockException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Request dengan Idempotency-Key yang sama hanya menulis data sekali, termasuk jika dikirim bersamaan
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class IdempotencyIntegrationTest {
+
+    private static final String SCOPE = "POST /api/orders";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer itemId;
+
+    @BeforeEach
+    void setUp() {
+        itemId = itemService.createItem(ItemDto.builder()
+                .name("Item Idempotency")
+                .price(1000.0)
+                .build()).getId();
+        inventoryService.createInventory(InventoryDto.builder()
+                .itemId(itemId)
+                .qty(100)
+                .type(InventoryType.T)
+                .build());
+    }
+
+    @Test
+    void duplicateKey_ReplaysStoredResponse() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        OrderDto request = OrderDto.builder().itemId(itemId).qty(10).build();
+
+        // When
+        IdempotentResult<OrderDto> first = createOrder(key, request);
+        IdempotentResult<OrderDto> retry = createOrder(key, request);
+
+        // Then
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.body().getId(), retry.body().getId());
+        assertEquals(first.body().getOrderNo(), retry.body().getOrderNo());
+        assertEquals(1, countOrders());
+        assertEquals(90, inventoryService.calculateRemainingStock(itemId));
+    }
+
+    @Test
+    void sameKeyWithDifferentRequest_Conflict() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        createOrder(key, OrderDto.builder().itemId(itemId).qty(10).build());
+
+        // When & Then
+        OrderDto different = OrderDto.builder().itemId(itemId).qty(20).build();
+        assertThrows(IdempotencyConflictException.class, () -> createOrder(key, different));
+        assertEquals(1, countOrders());
+    }
+
+    @Test
+    void failedRequest_KeyIsNotStored() {
+        // Given
+        String key = UUID.randomUUID().toString();
+
+        // When
+        assertThrows(InsufficientStockException.class,
+                () -> createOrder(key, OrderDto.builder().itemId(itemId).qty(1000).build()));
+        IdempotentResult<OrderDto> retry = createOrder(key, OrderDto.builder().itemId(itemId).qty(10).build());
+
+        // Then
+        // Key dari request yang gagal di-rollback, sehingga bisa dipakai ulang
+        assertFalse(retry.replayed());
+        assertEquals(1, countOrders());
+    }
+
+    @Test
+    void actionFailure_PropagatesUnchanged() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        OrderDto request = OrderDto.builder().itemId(itemId).qty(10).build();
+        CannotAcquireLockException lockFailure = new CannotAcquireLockException("lock timeout in action");
+
+        // When
+        CannotAcquireLockException thrown = assertThrows(CannotAcquireLockException.class,
+                () -> idempotencyService.execute(key, SCOPE, request, OrderDto.class, () -> {
+                    throw lockFailure;
+                }));
+
+        // Then
+        // Lock timeout dari action bukan konflik key, dan key tidak tersimpan
+        assertSame(lockFailure, thrown);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM idempotency_key WHERE idempotency_key = ?", Integer.class, key));
+    }
+
+    @Test
+    void expiredKey_RunsRequestAgain() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        OrderDto request = OrderDto.builder().itemId(itemId).qty(10).build();
+        createOrder(key, request);
+        expire(key);
+
+        // When
+        IdempotentResult<OrderDto> result = createOrder(key, request);
+
+        // Then
+        assertFalse(result.replayed());
+        assertEquals(2, countOrders());
+        assertEquals(0, idempotencyService.deleteExpiredKeys());
+    }
+
+    @Test
+    void deleteExpiredKeys_RemovesOnlyExpiredKeys() {
+        // Given
+        String expired = UUID.randomUUID().toString();
+        String active = UUID.randomUUID().toString();
+        createOrder(expired, OrderDto.builder().itemId(itemId).qty(1).build());
+        createOrder(active, OrderDto.builder().itemId(itemId).qty(2).build());
+        expire(expired);
+
+        // When
+        int deleted = idempotencyService.deleteExpiredKeys();
+
+        // Then
+        assertEquals(1, deleted);
+        assertEquals(List.of(active), jdbcTemplate.queryForList(
+                "SELECT idempotency_key FROM idempotency_key WHERE idempotency_key IN (?, ?)", String.class, expired, active));
+    }
+
+    @Test
+    void concurrentDuplicates_WriteOnce() throws Exception {
+        // Given
+        String key = UUID.randomUUID().toString();
+        OrderDto request = OrderDto.builder().itemId(itemId).qty(1).build();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<IdempotentResult<OrderDto>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return createOrder(key, request);
+                }));
+            }
+            start.countDown();
+        }
+
+        // Then
+        Set<UUID> orderIds = new HashSet<>();
+        int created = 0;
+        for (Future<IdempotentResult<OrderDto>> future : futures) {
+            IdempotentResult<OrderDto> result = future.get();
+            orderIds.add(result.body().getId());
+            created += result.replayed() ? 0 : 1;
+        }
+        assertEquals(1, created);
+        assertEquals(1, orderIds.size());
+        assertEquals(1, countOrders());
+        assertEquals(99, inventoryService.calculateRemainingStock(itemId));
+    }
+
+    private IdempotentResult<OrderDto> createOrder(String key, OrderDto request) {
+        return idempotencyService.execute(key, SCOPE, request, OrderDto.class, () -> orderService.createOrder(request));
+    }
+
+    private void expire(String key) {
+        jdbcTemplate.update("UPDATE idempotency_key SET expires_at = DATEADD('DAY', -1, CURRENT_TIMESTAMP) WHERE idempotency_key = ?", key);
+    }
+
+    private int countOrders() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE item_id = ?", Integer.class, itemId);
+    }
+}
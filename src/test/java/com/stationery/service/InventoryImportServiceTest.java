@@ -0,0 +1,162 @@
+package com.stationery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stationery.dto.InventoryImportRow;
+import com.stationery.dto.response.InventoryImportResult;
+import com.stationery.enums.DataFormat;
+import com.stationery.enums.InventoryType;
+import com.stationery.exception.BusinessLogicException;
+import com.stationery.repository.InventoryBatchRepository;
+import com.stationery.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryImportServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private InventoryBatchRepository inventoryBatchRepository;
+
+    @Mock
+    private StockBalanceService stockBalanceService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryImportService inventoryImportService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryImportService = new InventoryImportService(itemRepository, inventoryBatchRepository,
+                stockBalanceService, transactionManager, new ObjectMapper(), 1000, 10_000, 1);
+    }
+
+    @Test
+    void importTopUps_Csv_WritesInChunksAndReportsRejections() throws Exception {
+        // Given
+        String csv = """
+                itemId,qty
+                1,10
+                2,5
+                abc,1
+                99,3
+                1,-4
+                1,7
+                """;
+        when(itemRepository.findExistingIds(any())).thenAnswer(invocation -> Set.of(1, 2));
+
+        // When
+        InventoryImportResult result = inventoryImportService.importTopUps(stream(csv), DataFormat.CSV, 2);
+
+        // Then
+        assertEquals(6, result.totalRows());
+        assertEquals(3, result.acceptedRows());
+        assertEquals(3, result.rejectedRows());
+        assertEquals(1, result.rejections().size());
+        assertEquals(4, result.rejections().get(0).line());
+        assertTrue(result.rejectionsTruncated());
+        verify(itemRepository, times(2)).findExistingIds(any());
+        verify(inventoryBatchRepository, times(2)).insertTopUps(anyList());
+        verify(stockBalanceService, times(1)).apply(1, InventoryType.T, 10, 1);
+        verify(stockBalanceService, times(1)).apply(2, InventoryType.T, 5, 1);
+        verify(stockBalanceService, times(1)).apply(1, InventoryType.T, 7, 1);
+    }
+
+    @Test
+    void importTopUps_Ndjson_Success() throws Exception {
+        // Given
+        String ndjson = """
+                {"itemId":1,"qty":10}
+
+                {"itemId":1,"qty":15}
+                """;
+        when(itemRepository.findExistingIds(any())).thenReturn(Set.of(1));
+
+        // When
+        InventoryImportResult result = inventoryImportService.importTopUps(stream(ndjson), DataFormat.NDJSON, null);
+
+        // Then
+        assertEquals(2, result.totalRows());
+        assertEquals(2, result.acceptedRows());
+        assertEquals(0, result.rejectedRows());
+        verify(stockBalanceService, times(1)).apply(1, InventoryType.T, 25, 2);
+        verify(inventoryBatchRepository, times(1)).insertTopUps(argThat(rows ->
+                rows.size() == 2 && rows.stream().map(InventoryImportRow::line).toList().equals(List.of(1L, 3L))));
+    }
+
+    @Test
+    void importTopUps_ItemTotalOverflow_RejectsRowsOfThatItem() throws Exception {
+        // Given
+        String csv = """
+                1,1500000000
+                2,5
+                1,1500000000
+                1,1
+                """;
+        when(itemRepository.findExistingIds(any())).thenReturn(Set.of(1, 2));
+
+        // When
+        InventoryImportResult result = inventoryImportService.importTopUps(stream(csv), DataFormat.CSV, 10);
+
+        // Then
+        assertEquals(4, result.totalRows());
+        assertEquals(1, result.acceptedRows());
+        assertEquals(3, result.rejectedRows());
+        assertEquals(1, result.rejections().get(0).line());
+        assertTrue(result.rejections().get(0).reason().contains("exceeds"));
+        verify(itemRepository, times(1)).findExistingIds(Set.of(2));
+        verify(stockBalanceService, times(1)).apply(2, InventoryType.T, 5, 1);
+        verify(stockBalanceService, never()).apply(eq(1), any(), anyInt(), anyInt());
+        verify(inventoryBatchRepository, times(1)).insertTopUps(argThat(rows ->
+                rows.size() == 1 && rows.get(0).itemId() == 2));
+    }
+
+    @Test
+    void importTopUps_MalformedFirstRow_IsRejectedNotSkipped() throws Exception {
+        // Given
+        String csv = """
+                -5,3
+                1,10
+                """;
+        when(itemRepository.findExistingIds(any())).thenReturn(Set.of(1));
+
+        // When
+        InventoryImportResult result = inventoryImportService.importTopUps(stream(csv), DataFormat.CSV, null);
+
+        // Then
+        assertEquals(2, result.totalRows());
+        assertEquals(1, result.acceptedRows());
+        assertEquals(1, result.rejectedRows());
+        assertEquals(1, result.rejections().get(0).line());
+    }
+
+    @Test
+    void importTopUps_BatchSizeAboveMaximum_IsRejected() {
+        // When & Then
+        BusinessLogicException ex = assertThrows(BusinessLogicException.class,
+                () -> inventoryImportService.importTopUps(stream("1,10\n"), DataFormat.CSV, 200_000_000));
+        assertEquals("batchSize must not be greater than 10000", ex.getMessage());
+        verifyNoInteractions(itemRepository, inventoryBatchRepository, stockBalanceService);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
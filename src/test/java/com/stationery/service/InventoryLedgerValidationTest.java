@@ -0,0 +1,179 @@
+package com.stationery.service;
+
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.enums.InventoryType;
+import com.stationery.exception.BusinessLogicException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validasi update/delete inventory pada item dengan satu juta entry ledger.
+ * Stock dijumlahkan di database, sehingga jumlah statement sama dengan item yang ledger-nya kecil
+ * dan tidak ada entity ledger yang di-load ke memory.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class InventoryLedgerValidationTest {
+
+    private static final int LARGE_LEDGER_ROWS = 1_000_000;
+    private static final int SMALL_LEDGER_ROWS = 20;
+    private static final int SEED_CHUNK_ROWS = 100_000;
+    private static final int STOCK_WITHOUT_SMALL_WITHDRAWAL = 8;
+    private static final int SMALL_WITHDRAWAL_QTY = 5;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private StockBalanceService stockBalanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Ledger smallLedger;
+    private Ledger largeLedger;
+
+    @BeforeAll
+    void seedLedgers() {
+        smallLedger = seedLedger("Item Ledger Validation Small", SMALL_LEDGER_ROWS);
+        largeLedger = seedLedger("Item Ledger Validation Large", LARGE_LEDGER_ROWS);
+    }
+
+    @AfterAll
+    void removeLedgers() {
+        // Satu juta baris ledger tidak boleh tertinggal untuk test lain yang memakai database yang sama
+        for (Ledger ledger : new Ledger[]{smallLedger, largeLedger}) {
+            for (long from = ledger.firstId(); from <= ledger.smallWithdrawalId(); from += SEED_CHUNK_ROWS) {
+                jdbcTemplate.update("DELETE FROM inventory WHERE item_id = ? AND id BETWEEN ? AND ?",
+                        ledger.itemId(), from, from + SEED_CHUNK_ROWS - 1);
+            }
+            jdbcTemplate.update("DELETE FROM stock_event WHERE item_id = ?", ledger.itemId());
+            jdbcTemplate.update("DELETE FROM stock_projection WHERE item_id = ?", ledger.itemId());
+            itemService.deleteItem(ledger.itemId());
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void updateWithdrawal_WithinStockExcludingEntry_Succeeds() {
+        long small = countStatements(() -> assertEquals(STOCK_WITHOUT_SMALL_WITHDRAWAL, inventoryService
+                .updateInventory(smallLedger.smallWithdrawalId(), withdrawal(smallLedger, STOCK_WITHOUT_SMALL_WITHDRAWAL))
+                .getQty()));
+        long large = countStatements(() -> assertEquals(STOCK_WITHOUT_SMALL_WITHDRAWAL, inventoryService
+                .updateInventory(largeLedger.smallWithdrawalId(), withdrawal(largeLedger, STOCK_WITHOUT_SMALL_WITHDRAWAL))
+                .getQty()));
+
+        assertEquals(small, large, "Statement count depends on ledger size");
+
+        // Kembalikan ke kondisi awal untuk test lain
+        for (Ledger ledger : new Ledger[]{smallLedger, largeLedger}) {
+            inventoryService.updateInventory(ledger.smallWithdrawalId(), withdrawal(ledger, SMALL_WITHDRAWAL_QTY));
+            assertEquals(STOCK_WITHOUT_SMALL_WITHDRAWAL - SMALL_WITHDRAWAL_QTY,
+                    inventoryService.calculateRemainingStock(ledger.itemId()));
+        }
+    }
+
+    @Test
+    void updateWithdrawal_ExceedingStockExcludingEntry_IsRejected() {
+        long small = countStatements(() -> assertRejectedUpdate(smallLedger));
+        long large = countStatements(() -> assertRejectedUpdate(largeLedger));
+
+        assertEquals(small, large, "Statement count depends on ledger size");
+    }
+
+    @Test
+    void deleteWithdrawal_WhenLargerWithdrawalExists_IsRejected() {
+        // Withdrawal besar melebihi stock tanpa withdrawal kecil (8), sesuai aturan sebelumnya
+        long small = countStatements(() -> assertThrows(BusinessLogicException.class,
+                () -> inventoryService.deleteInventory(smallLedger.smallWithdrawalId())));
+        long large = countStatements(() -> assertThrows(BusinessLogicException.class,
+                () -> inventoryService.deleteInventory(largeLedger.smallWithdrawalId())));
+
+        assertEquals(small, large, "Statement count depends on ledger size");
+        assertEquals(LARGE_LEDGER_ROWS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory WHERE item_id = ?", Integer.class, largeLedger.itemId()));
+    }
+
+    /**
+     * Ledger: top-up qty 1 sebanyak rows - 2, lalu satu withdrawal besar dan satu withdrawal kecil.
+     * Stock tanpa withdrawal kecil selalu 8, berapapun ukuran ledger-nya.
+     */
+    private Ledger seedLedger(String name, int rows) {
+        Integer itemId = itemService.createItem(ItemDto.builder()
+                .name(name)
+                .price(1000.0)
+                .build()).getId();
+
+        int topUps = rows - 2;
+        int bigWithdrawalQty = topUps - STOCK_WITHOUT_SMALL_WITHDRAWAL;
+        for (long from = 1; from <= topUps; from += SEED_CHUNK_ROWS) {
+            long to = Math.min(from + SEED_CHUNK_ROWS - 1, topUps);
+            jdbcTemplate.update("INSERT INTO inventory (item_id, qty, type, order_id) " +
+                    "SELECT ?, 1, 'T', NULL FROM SYSTEM_RANGE(?, ?)", itemId, from, to);
+        }
+        jdbcTemplate.update("INSERT INTO inventory (item_id, qty, type, order_id) VALUES (?, ?, 'W', NULL)",
+                itemId, bigWithdrawalQty);
+        jdbcTemplate.update("INSERT INTO inventory (item_id, qty, type, order_id) VALUES (?, ?, 'W', NULL)",
+                itemId, SMALL_WITHDRAWAL_QTY);
+        Integer firstId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM inventory WHERE item_id = ?", Integer.class, itemId);
+        Integer smallWithdrawalId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM inventory WHERE item_id = ?", Integer.class, itemId);
+
+        stockBalanceService.apply(itemId, InventoryType.T, topUps - bigWithdrawalQty - SMALL_WITHDRAWAL_QTY);
+        return new Ledger(itemId, firstId, smallWithdrawalId);
+    }
+
+    private void assertRejectedUpdate(Ledger ledger) {
+        BusinessLogicException ex = assertThrows(BusinessLogicException.class,
+                () -> inventoryService.updateInventory(ledger.smallWithdrawalId(),
+                        withdrawal(ledger, STOCK_WITHOUT_SMALL_WITHDRAWAL + 1)));
+        assertTrue(ex.getMessage().contains("Available: " + STOCK_WITHOUT_SMALL_WITHDRAWAL));
+    }
+
+    private InventoryDto withdrawal(Ledger ledger, int qty) {
+        return InventoryDto.builder()
+                .itemId(ledger.itemId())
+                .qty(qty)
+                .type(InventoryType.W)
+                .build();
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+
+        // Hanya entry yang di-update/dihapus yang di-load, bukan seluruh ledger item
+        assertTrue(statistics.getEntityLoadCount() <= 2,
+                "Loaded " + statistics.getEntityLoadCount() + " entities");
+        return statistics.getPrepareStatementCount();
+    }
+
+    private record Ledger(Integer itemId, Integer firstId, Integer smallWithdrawalId) {
+    }
+}
@@ -1,6 +1,10 @@
 package com.stationery.service;
 
 import com.stationery.dto.InventoryDto;
+import com.stationery.dto.response.CursorPage;
+import com.stationery.dto.response.ItemStock;
+import com.stationery.dto.response.StockLookupResult;
+import com.stationery.dto.response.StockSnapshot;
 import com.stationery.entity.Inventory;
 import com.stationery.entity.Item;
 import com.stationery.entity.Order;
@@ -10,6 +14,7 @@ import com.stationery.exception.ResourceNotFoundException;
 import com.stationery.repository.InventoryRepository;
 import com.stationery.repository.ItemRepository;
 import com.stationery.repository.OrderRepository;
+import com.stationery.util.CursorCodec;
 import com.stationery.util.ValidationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,9 +28,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -43,6 +51,15 @@ public class InventoryServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private StockBalanceService stockBalanceService;
+
+    @Mock
+    private StockCheckpointService stockCheckpointService;
+
+    @Mock
+    private StockProjectionService stockProjectionService;
+
     @Mock
     private ValidationUtil validationUtil;
 
@@ -113,7 +130,7 @@ public class InventoryServiceTest {
     @Test
     void getInventory_Success() {
         // Given
-        when(inventoryRepository.findById(1)).thenReturn(Optional.of(topUpInventory));
+        when(inventoryRepository.findDtoById(1)).thenReturn(Optional.of(topUpDto));
 
         // When
         InventoryDto result = inventoryService.getInventory(1);
@@ -126,27 +143,28 @@ public class InventoryServiceTest {
         assertEquals(100, result.getQty());
         assertEquals(InventoryType.T, result.getType());
         assertNull(result.getOrderId());
-        verify(inventoryRepository, times(1)).findById(1);
+        verify(inventoryRepository, times(1)).findDtoById(1);
+        verify(inventoryRepository, never()).findById(anyInt());
     }
 
     @Test
     void getInventory_NotFound() {
         // Given
-        when(inventoryRepository.findById(99)).thenReturn(Optional.empty());
+        when(inventoryRepository.findDtoById(99)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> inventoryService.getInventory(99));
-        verify(inventoryRepository, times(1)).findById(99);
+        verify(inventoryRepository, times(1)).findDtoById(99);
     }
 
     @Test
     void getAllInventories_Success() {
         // Given
-        List<Inventory> inventories = Arrays.asList(topUpInventory, withdrawalInventory);
-        Page<Inventory> page = new PageImpl<>(inventories);
+        List<InventoryDto> inventories = Arrays.asList(topUpDto, withdrawalDto);
+        Page<InventoryDto> page = new PageImpl<>(inventories);
 
         Pageable pageable = PageRequest.of(0, 10);
-        when(inventoryRepository.findAll(pageable)).thenReturn(page);
+        when(inventoryRepository.findDtoPage(pageable)).thenReturn(page);
 
         // When
         Page<InventoryDto> result = inventoryService.getAllInventories(pageable);
@@ -157,18 +175,19 @@ public class InventoryServiceTest {
         assertEquals(2, result.getContent().size());
         assertEquals(InventoryType.T, result.getContent().get(0).getType());
         assertEquals(InventoryType.W, result.getContent().get(1).getType());
-        verify(inventoryRepository, times(1)).findAll(pageable);
+        verify(inventoryRepository, times(1)).findDtoPage(pageable);
+        verify(inventoryRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
     void getInventoriesByItemId_Success() {
         // Given
-        List<Inventory> inventories = Arrays.asList(topUpInventory, withdrawalInventory);
-        Page<Inventory> page = new PageImpl<>(inventories);
+        List<InventoryDto> inventories = Arrays.asList(topUpDto, withdrawalDto);
+        Page<InventoryDto> page = new PageImpl<>(inventories);
 
         Pageable pageable = PageRequest.of(0, 10);
         when(itemRepository.existsById(1)).thenReturn(true);
-        when(inventoryRepository.findByItemId(1, pageable)).thenReturn(page);
+        when(inventoryRepository.findDtoPageByItemId(1, pageable)).thenReturn(page);
 
         // When
         Page<InventoryDto> result = inventoryService.getInventoriesByItemId(1, pageable);
@@ -180,7 +199,7 @@ public class InventoryServiceTest {
         assertEquals(1, result.getContent().get(0).getItemId());
         assertEquals(1, result.getContent().get(1).getItemId());
         verify(itemRepository, times(1)).existsById(1);
-        verify(inventoryRepository, times(1)).findByItemId(1, pageable);
+        verify(inventoryRepository, times(1)).findDtoPageByItemId(1, pageable);
     }
 
     @Test
@@ -193,22 +212,151 @@ public class InventoryServiceTest {
         assertThrows(ResourceNotFoundException.class, () ->
                 inventoryService.getInventoriesByItemId(99, pageable));
         verify(itemRepository, times(1)).existsById(99);
-        verify(inventoryRepository, never()).findByItemId(anyInt(), any(Pageable.class));
+        verify(inventoryRepository, never()).findDtoPageByItemId(anyInt(), any(Pageable.class));
     }
 
     @Test
-    void calculateRemainingStock_Success() {
+    void getInventoriesByItemIdAndCursor_Success() {
         // Given
         when(itemRepository.existsById(1)).thenReturn(true);
-        when(inventoryRepository.calculateRemainingStock(1)).thenReturn(80);
+        when(inventoryRepository.findDtoPageByItemIdAfter(1, 0, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(topUpDto, withdrawalDto));
+
+        // When
+        CursorPage<InventoryDto> result = inventoryService.getInventoriesByItemIdAndCursor(1, CursorCodec.encode(0), 1);
+
+        // Then
+        assertEquals(1, result.content().size());
+        assertEquals(1, result.content().get(0).getId());
+        assertEquals(1, CursorCodec.decodeInteger(result.nextCursor()));
+        verify(inventoryRepository, never()).findDtoPageByItemId(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void calculateRemainingStock_Success() {
+        // Given
+        when(stockBalanceService.findStock(1)).thenReturn(Optional.of(80));
 
         // When
         Integer result = inventoryService.calculateRemainingStock(1);
 
         // Then
         assertEquals(80, result);
+        verify(stockBalanceService, times(1)).findStock(1);
+        verify(itemRepository, never()).existsById(anyInt());
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    void calculateRemainingStock_NoBalanceRow_ReturnsZero() {
+        // Given
+        when(stockBalanceService.findStock(1)).thenReturn(Optional.empty());
+        when(itemRepository.existsById(1)).thenReturn(true);
+
+        // When
+        Integer result = inventoryService.calculateRemainingStock(1);
+
+        // Then
+        assertEquals(0, result);
         verify(itemRepository, times(1)).existsById(1);
-        verify(inventoryRepository, times(1)).calculateRemainingStock(1);
+    }
+
+    @Test
+    void calculateRemainingStock_ItemNotFound() {
+        // Given
+        when(stockBalanceService.findStock(99)).thenReturn(Optional.empty());
+        when(itemRepository.existsById(99)).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.calculateRemainingStock(99));
+        verify(itemRepository, times(1)).existsById(99);
+    }
+
+    @Test
+    void getStockSnapshot_Success() {
+        // Given
+        when(stockBalanceService.findSnapshot(1)).thenReturn(Optional.of(new StockSnapshot(80, 7L)));
+
+        // When
+        StockSnapshot result = inventoryService.getStockSnapshot(1);
+
+        // Then
+        assertEquals(80, result.qty());
+        assertEquals("\"stock-1-v7\"", result.eTag(1));
+        verify(itemRepository, never()).existsById(anyInt());
+    }
+
+    @Test
+    void getStockSnapshot_NoBalanceRow_ReturnsZero() {
+        // Given
+        when(stockBalanceService.findSnapshot(1)).thenReturn(Optional.empty());
+        when(itemRepository.existsById(1)).thenReturn(true);
+
+        // When
+        StockSnapshot result = inventoryService.getStockSnapshot(1);
+
+        // Then
+        assertEquals(0, result.qty());
+        assertEquals(0L, result.version());
+    }
+
+    @Test
+    void getStockSnapshot_ItemNotFound() {
+        // Given
+        when(stockBalanceService.findSnapshot(99)).thenReturn(Optional.empty());
+        when(itemRepository.existsById(99)).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.getStockSnapshot(99));
+    }
+
+    @Test
+    void getStocks_ReportsUnknownIdsInRequestOrder() {
+        // Given
+        when(itemRepository.findStocksByIds(List.of(3, 1, 99)))
+                .thenReturn(List.of(new ItemStock(1, 100), new ItemStock(3, 0)));
+
+        // When
+        StockLookupResult result = inventoryService.getStocks(Arrays.asList(3, 1, 99, 1, null));
+
+        // Then
+        assertEquals(List.of(3, 1), List.copyOf(result.stocks().keySet()));
+        assertEquals(Map.of(1, 100, 3, 0), result.stocks());
+        assertEquals(List.of(99), result.unknownItemIds());
+        verify(itemRepository, times(1)).findStocksByIds(anyCollection());
+    }
+
+    @Test
+    void getStocks_QueriesInChunks() {
+        // Given
+        List<Integer> itemIds = IntStream.rangeClosed(1, 2500).boxed().toList();
+        when(itemRepository.findStocksByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> chunk = invocation.getArgument(0);
+            return chunk.stream().map(id -> new ItemStock(id, id)).toList();
+        });
+
+        // When
+        StockLookupResult result = inventoryService.getStocks(itemIds);
+
+        // Then
+        assertEquals(2500, result.stocks().size());
+        assertTrue(result.unknownItemIds().isEmpty());
+        verify(itemRepository, times(2)).findStocksByIds(argThat(chunk -> chunk.size() == 1000));
+        verify(itemRepository, times(1)).findStocksByIds(argThat(chunk -> chunk.size() == 500));
+    }
+
+    @Test
+    void rebuildStockBalances_Success() {
+        // Given
+        when(stockBalanceService.rebuild()).thenReturn(10);
+
+        // When
+        int result = inventoryService.rebuildStockBalances();
+
+        // Then
+        assertEquals(10, result);
+        verify(stockBalanceService, times(1)).rebuild();
+        verify(stockProjectionService, times(1)).rebuild();
     }
 
     @Test
@@ -233,6 +381,7 @@ public class InventoryServiceTest {
         assertEquals(100, result.getQty());
         assertEquals(InventoryType.T, result.getType());
         verify(itemRepository, times(1)).findById(1);
+        verify(stockBalanceService, times(1)).apply(1, InventoryType.T, 50);
         verify(inventoryRepository, times(1)).save(any(Inventory.class));
     }
 
@@ -246,7 +395,7 @@ public class InventoryServiceTest {
                 .build();
 
         when(itemRepository.findById(1)).thenReturn(Optional.of(item1));
-        when(inventoryRepository.calculateRemainingStock(1)).thenReturn(100);
+        when(stockBalanceService.tryReserve(1, 30)).thenReturn(true);
         when(inventoryRepository.save(any(Inventory.class))).thenReturn(withdrawalInventory);
 
         // When
@@ -259,7 +408,8 @@ public class InventoryServiceTest {
         assertEquals(20, result.getQty());
         assertEquals(InventoryType.W, result.getType());
         verify(itemRepository, times(1)).findById(1);
-        verify(inventoryRepository, times(1)).calculateRemainingStock(1);
+        verify(stockBalanceService, times(1)).tryReserve(1, 30);
+        verify(stockBalanceService, never()).apply(anyInt(), any(InventoryType.class), anyInt());
         verify(inventoryRepository, times(1)).save(any(Inventory.class));
     }
 
@@ -273,14 +423,16 @@ public class InventoryServiceTest {
                 .build();
 
         when(itemRepository.findById(1)).thenReturn(Optional.of(item1));
-        when(inventoryRepository.calculateRemainingStock(1)).thenReturn(100);
+        when(stockBalanceService.tryReserve(1, 150)).thenReturn(false);
+        when(stockBalanceService.getStock(1)).thenReturn(100);
         doThrow(new BusinessLogicException("Insufficient stock for item 'Pensil 2B'. Available: 100, Requested: 150"))
                 .when(validationUtil).validateCondition(eq(false), anyString());
 
         // When & Then
         assertThrows(BusinessLogicException.class, () -> inventoryService.createInventory(newWithdrawalDto));
         verify(itemRepository, times(1)).findById(1);
-        verify(inventoryRepository, times(1)).calculateRemainingStock(1);
+        verify(stockBalanceService, times(1)).tryReserve(1, 150);
+        verify(stockBalanceService, never()).apply(anyInt(), any(InventoryType.class), anyInt());
         verify(inventoryRepository, never()).save(any(Inventory.class));
     }
 
@@ -295,6 +447,7 @@ public class InventoryServiceTest {
 
         // Then
         verify(inventoryRepository, times(1)).findById(1);
+        verify(stockBalanceService, times(1)).revert(1, InventoryType.T, 100);
         verify(inventoryRepository, times(1)).delete(topUpInventory);
     }
 
@@ -311,6 +464,59 @@ public class InventoryServiceTest {
         verify(inventoryRepository, never()).delete(any(Inventory.class));
     }
 
+    @Test
+    void updateInventory_Withdrawal_ValidatesWithAggregateExcludingEntry() {
+        // Given
+        Inventory manualWithdrawal = Inventory.builder()
+                .id(3)
+                .item(item1)
+                .qty(10)
+                .type(InventoryType.W)
+                .build();
+        InventoryDto updateDto = InventoryDto.builder()
+                .itemId(1)
+                .qty(30)
+                .type(InventoryType.W)
+                .build();
+        when(inventoryRepository.findById(3)).thenReturn(Optional.of(manualWithdrawal));
+        when(itemRepository.findById(1)).thenReturn(Optional.of(item1));
+        when(stockCheckpointService.calculateStockExcluding(1, manualWithdrawal)).thenReturn(50);
+        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        InventoryDto result = inventoryService.updateInventory(3, updateDto);
+
+        // Then
+        assertEquals(30, result.getQty());
+        verify(stockCheckpointService, times(1)).calculateStockExcluding(1, manualWithdrawal);
+        verify(validationUtil, never()).validateCondition(eq(false), anyString());
+        verify(stockBalanceService, times(1)).revert(1, InventoryType.W, 10);
+        verify(stockBalanceService, times(1)).apply(1, InventoryType.W, 30);
+        verify(stockCheckpointService, times(1)).revert(3, 1, InventoryType.W, 10);
+        verify(stockCheckpointService, times(1)).apply(3, 1, InventoryType.W, 30);
+    }
+
+    @Test
+    void deleteInventory_Withdrawal_WouldCauseNegativeStock() {
+        // Given
+        Inventory manualWithdrawal = Inventory.builder()
+                .id(3)
+                .item(item1)
+                .qty(10)
+                .type(InventoryType.W)
+                .build();
+        when(inventoryRepository.findById(3)).thenReturn(Optional.of(manualWithdrawal));
+        when(stockCheckpointService.calculateStockExcluding(1, manualWithdrawal)).thenReturn(5);
+        when(inventoryRepository.existsByItemIdAndTypeAndQtyGreaterThanAndIdNot(1, InventoryType.W, 5, 3)).thenReturn(true);
+        doThrow(new BusinessLogicException("Cannot delete this withdrawal as it would cause negative stock for other withdrawals."))
+                .when(validationUtil).validateCondition(eq(false), anyString());
+
+        // When & Then
+        assertThrows(BusinessLogicException.class, () -> inventoryService.deleteInventory(3));
+        verify(stockBalanceService, never()).revert(anyInt(), any(InventoryType.class), anyInt());
+        verify(inventoryRepository, never()).delete(any(Inventory.class));
+    }
+
     @Test
     void createWithdrawalForOrder_Success() {
         // Given
@@ -320,18 +526,22 @@ public class InventoryServiceTest {
         inventoryService.createWithdrawalForOrder(order1);
 
         // Then
+        verify(stockBalanceService, times(1)).reserve(item1, 5);
         verify(inventoryRepository, times(1)).save(any(Inventory.class));
     }
 
     @Test
     void deleteInventoriesForOrder_Success() {
         // Given
+        when(inventoryRepository.findByOrderId(orderId)).thenReturn(List.of(withdrawalInventory));
         doNothing().when(inventoryRepository).deleteByOrderId(orderId);
 
         // When
         inventoryService.deleteInventoriesForOrder(orderId);
 
         // Then
+        verify(stockBalanceService, times(1)).revert(1, InventoryType.W, 20);
+        verify(stockCheckpointService, times(1)).revert(2, 1, InventoryType.W, 20);
         verify(inventoryRepository, times(1)).deleteByOrderId(orderId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.stationery.service;
+
+import com.stationery.config.CacheConfig;
+import com.stationery.dto.ItemDto;
+import com.stationery.entity.Item;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ItemSecondLevelCacheTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Integer itemId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        itemId = itemService.createItem(ItemDto.builder()
+                .name("Item Cache")
+                .price(1000.0)
+                .build()).getId();
+    }
+
+    @Test
+    void getItem_SecondReadIsServedFromCache() {
+        // Given
+        itemService.getItem(itemId);
+        statistics.clear();
+
+        // When
+        ItemDto item = itemService.getItem(itemId);
+
+        // Then
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(CacheConfig.ITEM_REGION);
+        assertEquals("Item Cache", item.getName());
+        assertEquals(1, region.getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getItem_NeverReturnsStalePriceAfterUpdate() {
+        // Given
+        itemService.getItem(itemId);
+
+        // When
+        itemService.updateItem(itemId, ItemDto.builder()
+                .name("Item Cache")
+                .price(2500.0)
+                .build());
+        ItemDto item = itemService.getItem(itemId);
+
+        // Then
+        assertEquals(2500.0, item.getPrice());
+    }
+
+    @Test
+    void deleteItem_RemovesItemFromCache() {
+        // Given
+        itemService.getItem(itemId);
+
+        // When
+        itemService.deleteItem(itemId);
+
+        // Then
+        assertFalse(entityManagerFactory.getCache().contains(Item.class, itemId));
+    }
+}
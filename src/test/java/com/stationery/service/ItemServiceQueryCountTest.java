@@ -0,0 +1,90 @@
+package com.stationery.service;
+
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.dto.response.ItemWithStockDto;
+import com.stationery.enums.InventoryType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ItemServiceQueryCountTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Pastikan jumlah item lebih besar dari ukuran page terbesar yang diuji
+        // supaya count query selalu ikut dijalankan
+        while (itemService.getAllItemsWithStock(PageRequest.of(0, 1)).getTotalElements() < 120) {
+            ItemDto item = itemService.createItem(ItemDto.builder()
+                    .name("Item Query Count")
+                    .price(1000.0)
+                    .build());
+            inventoryService.createInventory(InventoryDto.builder()
+                    .itemId(item.getId())
+                    .qty(25)
+                    .type(InventoryType.T)
+                    .build());
+        }
+    }
+
+    @Test
+    void getAllItemsWithStock_StatementCountIsConstantForAnyPageSize() {
+        long smallPageStatements = countStatements(PageRequest.of(0, 5));
+        long largePageStatements = countStatements(PageRequest.of(0, 100));
+
+        // Satu query untuk content (item + stock) dan satu count query
+        assertEquals(2, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    @Test
+    void getItemsWithStockSlice_RunsSingleStatement() {
+        statistics.clear();
+        Slice<ItemWithStockDto> slice = itemService.getItemsWithStockSlice(PageRequest.of(0, 100));
+
+        // Tanpa count query, hanya satu query dengan limit size + 1
+        assertEquals(100, slice.getContent().size());
+        assertTrue(slice.hasNext());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllItemsWithStock_ReturnsStockFromBalance() {
+        Page<ItemWithStockDto> page = itemService.getAllItemsWithStock(PageRequest.of(0, 100));
+
+        page.getContent().forEach(item ->
+                assertEquals(inventoryService.calculateRemainingStock(item.id()), item.stockQuantity()));
+    }
+
+    private long countStatements(PageRequest pageRequest) {
+        statistics.clear();
+        Page<ItemWithStockDto> page = itemService.getAllItemsWithStock(pageRequest);
+        assertEquals(pageRequest.getPageSize(), page.getContent().size());
+        return statistics.getPrepareStatementCount();
+    }
+}
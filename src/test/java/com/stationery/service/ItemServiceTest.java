@@ -1,12 +1,14 @@
 package com.stationery.service;
 
 import com.stationery.dto.ItemDto;
+import com.stationery.dto.response.ItemVersion;
 import com.stationery.dto.response.ItemWithStockDto;
 import com.stationery.entity.Item;
 import com.stationery.exception.BusinessLogicException;
 import com.stationery.exception.ResourceNotFoundException;
-import com.stationery.repository.InventoryRepository;
 import com.stationery.repository.ItemRepository;
+import com.stationery.util.EntityCacheEvictor;
+import com.stationery.util.TotalCountCache;
 import com.stationery.util.ValidationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.Arrays;
 import java.util.List;
@@ -34,11 +38,26 @@ public class ItemServiceTest {
     private ItemRepository itemRepository;
 
     @Mock
-    private InventoryRepository inventoryRepository;
+    private StockBalanceService stockBalanceService;
+
+    @Mock
+    private StockCheckpointService stockCheckpointService;
+
+    @Mock
+    private StockAlertService stockAlertService;
+
+    @Mock
+    private StockProjectionService stockProjectionService;
 
     @Mock
     private ValidationUtil validationUtil;
 
+    @Mock
+    private TotalCountCache totalCountCache;
+
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+
     @InjectMocks
     private ItemService itemService;
 
@@ -72,7 +91,7 @@ public class ItemServiceTest {
     void getItemWithStock_Success() {
         // Given
         when(itemRepository.findById(1)).thenReturn(Optional.of(item1));
-        when(inventoryRepository.calculateRemainingStock(1)).thenReturn(100);
+        when(stockBalanceService.getStock(1)).thenReturn(100);
 
         // When
         ItemWithStockDto result = itemService.getItemWithStock(1);
@@ -84,7 +103,7 @@ public class ItemServiceTest {
         assertEquals(2500.0, result.price());
         assertEquals(100, result.stockQuantity());
         verify(itemRepository, times(1)).findById(1);
-        verify(inventoryRepository, times(1)).calculateRemainingStock(1);
+        verify(stockBalanceService, times(1)).getStock(1);
     }
 
     @Test
@@ -95,7 +114,29 @@ public class ItemServiceTest {
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> itemService.getItemWithStock(99));
         verify(itemRepository, times(1)).findById(99);
-        verify(inventoryRepository, never()).calculateRemainingStock(anyInt());
+        verify(stockBalanceService, never()).getStock(anyInt());
+    }
+
+    @Test
+    void getItemETag_Success() {
+        // Given
+        when(itemRepository.findVersionById(1)).thenReturn(Optional.of(new ItemVersion(2L, 5L)));
+
+        // When
+        String result = itemService.getItemETag(1);
+
+        // Then
+        assertEquals("\"item-1-v2-s5\"", result);
+        verify(itemRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void getItemETag_NotFound() {
+        // Given
+        when(itemRepository.findVersionById(99)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> itemService.getItemETag(99));
     }
 
     @Test
@@ -117,15 +158,12 @@ public class ItemServiceTest {
     @Test
     void getAllItemsWithStock_Success() {
         // Given
-        List<Item> items = Arrays.asList(item1, item2);
-        Page<Item> itemPage = new PageImpl<>(items);
-
-        when(itemRepository.count()).thenReturn(2L);
-        when(itemRepository.findAll(any(Pageable.class))).thenReturn(itemPage);
-        when(inventoryRepository.calculateRemainingStock(1)).thenReturn(100);
-        when(inventoryRepository.calculateRemainingStock(2)).thenReturn(50);
-
         Pageable pageable = PageRequest.of(0, 10);
+        List<ItemWithStockDto> items = Arrays.asList(
+                new ItemWithStockDto(1, "Pensil 2B", 2500.0, 100),
+                new ItemWithStockDto(2, "Buku Tulis", 5000.0, 50));
+
+        when(itemRepository.findAllWithStock(pageable)).thenReturn(new PageImpl<>(items, pageable, 2));
 
         // When
         Page<ItemWithStockDto> result = itemService.getAllItemsWithStock(pageable);
@@ -138,10 +176,39 @@ public class ItemServiceTest {
         assertEquals(100, result.getContent().get(0).stockQuantity());
         assertEquals("Buku Tulis", result.getContent().get(1).name());
         assertEquals(50, result.getContent().get(1).stockQuantity());
-        verify(itemRepository, times(1)).count();
-        verify(itemRepository, times(1)).findAll(any(Pageable.class));
-        verify(inventoryRepository, times(1)).calculateRemainingStock(1);
-        verify(inventoryRepository, times(1)).calculateRemainingStock(2);
+        verify(itemRepository, times(1)).findAllWithStock(pageable);
+        verify(itemRepository, never()).count();
+        verify(stockBalanceService, never()).getStock(anyInt());
+    }
+
+    @Test
+    void getItemsWithStockSlice_DoesNotCount() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        List<ItemWithStockDto> items = List.of(new ItemWithStockDto(1, "Pensil 2B", 2500.0, 100));
+        when(itemRepository.findSliceWithStock(pageable)).thenReturn(new SliceImpl<>(items, pageable, true));
+
+        // When
+        Slice<ItemWithStockDto> result = itemService.getItemsWithStockSlice(pageable);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.hasNext());
+        verify(itemRepository, never()).count();
+        verify(itemRepository, never()).findAllWithStock(any(Pageable.class));
+    }
+
+    @Test
+    void getCachedItemCount_ReadsFromCache() {
+        // Given
+        when(totalCountCache.get(eq("items"), any())).thenReturn(120L);
+
+        // When
+        long result = itemService.getCachedItemCount();
+
+        // Then
+        assertEquals(120L, result);
+        verify(itemRepository, never()).count();
     }
 
     @Test
@@ -174,6 +241,7 @@ public class ItemServiceTest {
         assertEquals("Spidol", result.getName());
         assertEquals(7500.0, result.getPrice());
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(stockBalanceService, times(1)).initialize(3);
     }
 
     @Test
@@ -204,6 +272,7 @@ public class ItemServiceTest {
         assertEquals(3000.0, result.getPrice());
         verify(itemRepository, times(1)).findById(1);
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(entityCacheEvictor, times(1)).evictItemAfterCommit(1);
     }
 
     @Test
@@ -236,7 +305,12 @@ public class ItemServiceTest {
         // Then
         verify(itemRepository, times(1)).findById(1);
         verify(itemRepository, times(1)).hasInventories(1);
+        verify(stockBalanceService, times(1)).remove(1);
+        verify(stockCheckpointService, times(1)).remove(1);
+        verify(stockAlertService, times(1)).remove(1);
+        verify(stockProjectionService, times(1)).remove(1);
         verify(itemRepository, times(1)).delete(any(Item.class));
+        verify(entityCacheEvictor, times(1)).evictItemAfterCommit(1);
     }
 
     @Test
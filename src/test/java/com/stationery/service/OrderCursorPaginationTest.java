@@ -0,0 +1,74 @@
+package com.stationery.service;
+
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.dto.OrderDto;
+import com.stationery.dto.response.CursorPage;
+import com.stationery.enums.InventoryType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset pagination order mengikuti urutan pembuatan, order baru selama page-through tidak terlewat
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderCursorPaginationTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void pagesFollowCreationOrderAndIncludeOrdersCreatedDuringWalk() {
+        // Given
+        Integer itemId = itemService.createItem(ItemDto.builder()
+                .name("Item Order Cursor")
+                .price(1000.0)
+                .build()).getId();
+        inventoryService.createInventory(InventoryDto.builder()
+                .itemId(itemId)
+                .qty(100)
+                .type(InventoryType.T)
+                .build());
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createOrder(itemId));
+        }
+
+        // When
+        List<String> walked = new ArrayList<>();
+        CursorPage<OrderDto> page = orderService.getOrdersByItemIdAndCursor(itemId, "", PAGE_SIZE);
+        page.content().forEach(order -> walked.add(order.getOrderNo()));
+
+        // Order baru dibuat di tengah page-through
+        for (int i = 0; i < 3; i++) {
+            created.add(createOrder(itemId));
+        }
+        while (page.nextCursor() != null) {
+            page = orderService.getOrdersByItemIdAndCursor(itemId, page.nextCursor(), PAGE_SIZE);
+            page.content().forEach(order -> walked.add(order.getOrderNo()));
+        }
+
+        // Then
+        assertEquals(created, walked);
+    }
+
+    private String createOrder(Integer itemId) {
+        return orderService.createOrder(OrderDto.builder().itemId(itemId).qty(1).build()).getOrderNo();
+    }
+}
@@ -0,0 +1,141 @@
+package com.stationery.service;
+
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.dto.OrderDto;
+import com.stationery.dto.response.CursorPage;
+import com.stationery.dto.response.StockLookupResult;
+import com.stationery.enums.InventoryType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderInventoryQueryCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Order dibuat untuk beberapa item supaya setiap baris page menunjuk ke item yang berbeda
+        while (orderService.getAllOrders(PageRequest.of(0, 1)).getTotalElements() < 120) {
+            ItemDto item = itemService.createItem(ItemDto.builder()
+                    .name("Item Projection")
+                    .price(1000.0)
+                    .build());
+            inventoryService.createInventory(InventoryDto.builder()
+                    .itemId(item.getId())
+                    .qty(100)
+                    .type(InventoryType.T)
+                    .build());
+            for (int i = 0; i < 10; i++) {
+                orderService.createOrder(OrderDto.builder()
+                        .itemId(item.getId())
+                        .qty(1)
+                        .build());
+            }
+        }
+    }
+
+    @Test
+    void getAllOrders_StatementCountIsConstantForAnyPageSize() {
+        long smallPageStatements = countStatements(() -> orderService.getAllOrders(PageRequest.of(0, 5)));
+        long largePageStatements = countStatements(() -> orderService.getAllOrders(PageRequest.of(0, 100)));
+
+        // Satu query untuk content (order join item) dan satu count query
+        assertEquals(2, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    @Test
+    void getAllInventories_StatementCountIsConstantForAnyPageSize() {
+        long smallPageStatements = countStatements(() -> inventoryService.getAllInventories(PageRequest.of(0, 5)));
+        long largePageStatements = countStatements(() -> inventoryService.getAllInventories(PageRequest.of(0, 100)));
+
+        assertEquals(2, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+    }
+
+    @Test
+    void getOrdersByCursor_RunsSingleStatementWithoutEntities() {
+        statistics.clear();
+        CursorPage<OrderDto> page = orderService.getOrdersByCursor("", 100);
+
+        assertEquals(100, page.content().size());
+        assertNotNull(page.content().get(0).getItemName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getOrderAndInventory_RunSingleStatementWithoutEntities() {
+        Page<InventoryDto> inventories = inventoryService.getAllInventories(PageRequest.of(0, 100));
+        InventoryDto withdrawal = inventories.getContent().stream()
+                .filter(inventory -> inventory.getOrderId() != null)
+                .findFirst()
+                .orElseThrow();
+
+        statistics.clear();
+        OrderDto order = orderService.getOrder(withdrawal.getOrderId());
+        InventoryDto inventory = inventoryService.getInventory(withdrawal.getId());
+
+        assertEquals(withdrawal.getItemId(), order.getItemId());
+        assertEquals(order.getQty() * order.getPrice(), order.getTotalPrice());
+        assertEquals(withdrawal.getOrderId(), inventory.getOrderId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getStocks_RunsSingleStatementForManyItems() {
+        List<Integer> itemIds = orderService.getAllOrders(PageRequest.of(0, 100)).getContent().stream()
+                .map(OrderDto::getItemId)
+                .distinct()
+                .toList();
+
+        statistics.clear();
+        StockLookupResult result = inventoryService.getStocks(
+                Stream.concat(itemIds.stream(), Stream.of(-1)).toList());
+
+        assertEquals(itemIds.size(), result.stocks().size());
+        assertEquals(List.of(-1), result.unknownItemIds());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private long countStatements(Supplier<Page<?>> query) {
+        statistics.clear();
+        Page<?> page = query.get();
+        assertEquals(page.getPageable().getPageSize(), page.getContent().size());
+        assertEquals(0, statistics.getEntityLoadCount());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,128 @@
+package com.stationery.service;
+
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.dto.OrderDto;
+import com.stationery.enums.InventoryType;
+import com.stationery.exception.InsufficientStockException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderServiceConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 500;
+    private static final int ORDER_COUNT = 2000;
+    private static final int THREAD_COUNT = 32;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createOrder_ConcurrentOrdersNeverOversell() throws Exception {
+        // Given
+        Integer contendedItemId = createItemWithStock("Item Rebutan", INITIAL_STOCK);
+        Integer otherItemId = createItemWithStock("Item Lain", ORDER_COUNT);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger otherSucceeded = new AtomicInteger();
+        AtomicInteger lowestObservedStock = new AtomicInteger(Integer.MAX_VALUE);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Sampler untuk memastikan stock tidak pernah terlihat minus selama order berjalan
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                lowestObservedStock.accumulateAndGet(
+                        inventoryService.calculateRemainingStock(contendedItemId), Math::min);
+            }
+        });
+        sampler.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            // When
+            for (int i = 0; i < ORDER_COUNT; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.createOrder(OrderDto.builder().itemId(contendedItemId).qty(1).build());
+                        succeeded.incrementAndGet();
+                    } catch (InsufficientStockException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    // Order untuk item lain tidak boleh ikut tertahan atau gagal
+                    orderService.createOrder(OrderDto.builder().itemId(otherItemId).qty(1).build());
+                    otherSucceeded.incrementAndGet();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+            running.set(false);
+            sampler.join();
+        }
+
+        // Then
+        int finalStock = inventoryService.calculateRemainingStock(contendedItemId);
+        assertEquals(INITIAL_STOCK, succeeded.get());
+        assertEquals(ORDER_COUNT - INITIAL_STOCK, rejected.get());
+        assertEquals(0, finalStock);
+        assertTrue(lowestObservedStock.get() >= 0, "Stock went below zero: " + lowestObservedStock.get());
+        assertEquals(finalStock, ledgerStock(contendedItemId));
+
+        assertEquals(ORDER_COUNT, otherSucceeded.get());
+        assertEquals(0, inventoryService.calculateRemainingStock(otherItemId));
+    }
+
+    private Integer createItemWithStock(String name, int stock) {
+        ItemDto item = itemService.createItem(ItemDto.builder()
+                .name(name)
+                .price(1000.0)
+                .build());
+        inventoryService.createInventory(InventoryDto.builder()
+                .itemId(item.getId())
+                .qty(stock)
+                .type(InventoryType.T)
+                .build());
+        return item.getId();
+    }
+
+    private int ledgerStock(Integer itemId) {
+        // Perhitungan ulang ledger penuh, hanya untuk pembanding di test
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(CASE WHEN type = 'T' THEN qty ELSE -qty END), 0) FROM inventory WHERE item_id = ?",
+                Integer.class, itemId);
+    }
+}
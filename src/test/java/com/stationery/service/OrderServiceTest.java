@@ -1,14 +1,22 @@
 package com.stationery.service;
 
 import com.stationery.dto.OrderDto;
+import com.stationery.dto.response.CursorPage;
+import com.stationery.dto.response.OrderBatchResult;
+import com.stationery.dto.response.OrderCursorRow;
 import com.stationery.entity.Item;
 import com.stationery.entity.Order;
+import com.stationery.enums.BatchMode;
+import com.stationery.enums.InventoryType;
 import com.stationery.exception.InsufficientStockException;
 import com.stationery.exception.ResourceNotFoundException;
-import com.stationery.repository.InventoryRepository;
 import com.stationery.repository.ItemRepository;
+import com.stationery.repository.OrderBatchRepository;
 import com.stationery.repository.OrderRepository;
+import com.stationery.util.CursorCodec;
 import com.stationery.util.OrderNumberGenerator;
+import com.stationery.util.StockMetrics;
+import com.stationery.util.TotalCountCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,9 +27,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,14 +50,23 @@ public class OrderServiceTest {
     private ItemRepository itemRepository;
 
     @Mock
-    private InventoryRepository inventoryRepository;
+    private InventoryService inventoryService;
 
     @Mock
-    private InventoryService inventoryService;
+    private StockBalanceService stockBalanceService;
+
+    @Mock
+    private OrderBatchRepository orderBatchRepository;
 
     @Mock
     private OrderNumberGenerator orderNumberGenerator;
 
+    @Mock
+    private TotalCountCache totalCountCache;
+
+    @Mock
+    private StockMetrics stockMetrics;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -88,7 +108,7 @@ public class OrderServiceTest {
     @Test
     void getOrder_Success() {
         // Given
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order1));
+        when(orderRepository.findDtoById(orderId)).thenReturn(Optional.of(orderDto1));
 
         // When
         OrderDto result = orderService.getOrder(orderId);
@@ -102,28 +122,29 @@ public class OrderServiceTest {
         assertEquals(5, result.getQty());
         assertEquals(2500.0, result.getPrice());
         assertEquals(12500.0, result.getTotalPrice());
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findDtoById(orderId);
+        verify(orderRepository, never()).findById(any());
     }
 
     @Test
     void getOrder_NotFound() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(orderRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(orderRepository.findDtoById(nonExistentId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> orderService.getOrder(nonExistentId));
-        verify(orderRepository, times(1)).findById(nonExistentId);
+        verify(orderRepository, times(1)).findDtoById(nonExistentId);
     }
 
     @Test
     void getAllOrders_Success() {
         // Given
-        List<Order> orders = Arrays.asList(order1);
-        Page<Order> page = new PageImpl<>(orders);
+        List<OrderDto> orders = Arrays.asList(orderDto1);
+        Page<OrderDto> page = new PageImpl<>(orders);
 
         Pageable pageable = PageRequest.of(0, 10);
-        when(orderRepository.findAll(pageable)).thenReturn(page);
+        when(orderRepository.findDtoPage(pageable)).thenReturn(page);
 
         // When
         Page<OrderDto> result = orderService.getAllOrders(pageable);
@@ -134,18 +155,61 @@ public class OrderServiceTest {
         assertEquals(1, result.getContent().size());
         assertEquals("O001", result.getContent().get(0).getOrderNo());
         assertEquals(1, result.getContent().get(0).getItemId());
-        verify(orderRepository, times(1)).findAll(pageable);
+        verify(orderRepository, times(1)).findDtoPage(pageable);
+        verify(orderRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getOrdersSlice_DoesNotCount() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        Slice<OrderDto> slice = new SliceImpl<>(List.of(orderDto1), pageable, true);
+        when(orderRepository.findDtoSlice(pageable)).thenReturn(slice);
+
+        // When
+        Slice<OrderDto> result = orderService.getOrdersSlice(pageable);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertEquals("O001", result.getContent().get(0).getOrderNo());
+        assertTrue(result.hasNext());
+        verify(orderRepository, never()).count();
+        verify(orderRepository, never()).findDtoPage(any(Pageable.class));
+    }
+
+    @Test
+    void getOrdersSliceByItemId_ItemNotFound() {
+        // Given
+        when(itemRepository.existsById(99)).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderService.getOrdersSliceByItemId(99, PageRequest.of(0, 10)));
+        verify(orderRepository, never()).findDtoSliceByItemId(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void getCachedOrderCount_ReadsFromCache() {
+        // Given
+        when(totalCountCache.get(eq("orders:item:1"), any())).thenReturn(42L);
+
+        // When
+        long result = orderService.getCachedOrderCount(1);
+
+        // Then
+        assertEquals(42L, result);
+        verify(orderRepository, never()).countByItemId(anyInt());
     }
 
     @Test
     void getOrdersByItemId_Success() {
         // Given
-        List<Order> orders = Arrays.asList(order1);
-        Page<Order> page = new PageImpl<>(orders);
+        List<OrderDto> orders = Arrays.asList(orderDto1);
+        Page<OrderDto> page = new PageImpl<>(orders);
 
         Pageable pageable = PageRequest.of(0, 10);
         when(itemRepository.existsById(1)).thenReturn(true);
-        when(orderRepository.findByItemId(1, pageable)).thenReturn(page);
+        when(orderRepository.findDtoPageByItemId(1, pageable)).thenReturn(page);
 
         // When
         Page<OrderDto> result = orderService.getOrdersByItemId(1, pageable);
@@ -157,7 +221,7 @@ public class OrderServiceTest {
         assertEquals(1, result.getContent().get(0).getItemId());
         assertEquals("Pensil 2B", result.getContent().get(0).getItemName());
         verify(itemRepository, times(1)).existsById(1);
-        verify(orderRepository, times(1)).findByItemId(1, pageable);
+        verify(orderRepository, times(1)).findDtoPageByItemId(1, pageable);
     }
 
     @Test
@@ -170,7 +234,46 @@ public class OrderServiceTest {
         assertThrows(ResourceNotFoundException.class, () ->
                 orderService.getOrdersByItemId(99, pageable));
         verify(itemRepository, times(1)).existsById(99);
-        verify(orderRepository, never()).findByItemId(anyInt(), any(Pageable.class));
+        verify(orderRepository, never()).findDtoPageByItemId(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void getOrdersByCursor_FirstPage_ReturnsNextCursor() {
+        // Given
+        OrderDto orderDto2 = OrderDto.builder()
+                .id(UUID.randomUUID())
+                .orderNo("O002")
+                .itemId(1)
+                .itemName("Pensil 2B")
+                .qty(1)
+                .price(2500.0)
+                .totalPrice(2500.0)
+                .build();
+        when(orderRepository.findCursorFirstPage(PageRequest.of(0, 2)))
+                .thenReturn(List.of(new OrderCursorRow(1L, orderDto1), new OrderCursorRow(2L, orderDto2)));
+
+        // When
+        CursorPage<OrderDto> result = orderService.getOrdersByCursor("", 1);
+
+        // Then
+        assertEquals(1, result.content().size());
+        assertEquals("O001", result.content().get(0).getOrderNo());
+        assertEquals(1L, CursorCodec.decodeLong(result.nextCursor()));
+        verify(orderRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getOrdersByCursor_LastPage_HasNoNextCursor() {
+        // Given
+        String cursor = CursorCodec.encode(1L);
+        when(orderRepository.findCursorPageAfter(1L, PageRequest.of(0, 11))).thenReturn(List.of(new OrderCursorRow(2L, orderDto1)));
+
+        // When
+        CursorPage<OrderDto> result = orderService.getOrdersByCursor(cursor, 10);
+
+        // Then
+        assertEquals(1, result.content().size());
+        assertNull(result.nextCursor());
     }
 
     @Test
@@ -190,8 +293,7 @@ public class OrderServiceTest {
                 .build();
 
         when(itemRepository.findById(1)).thenReturn(Optional.of(item1));
-        when(orderNumberGenerator.generateOrderNumber()).thenReturn("O002");
-        when(inventoryRepository.calculateRemainingStock(1)).thenReturn(100);
+        when(orderNumberGenerator.nextOrderNumber()).thenReturn(new OrderNumberGenerator.OrderNumber(2, "O002"));
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
         doNothing().when(inventoryService).createWithdrawalForOrder(any(Order.class));
 
@@ -207,8 +309,7 @@ public class OrderServiceTest {
         assertEquals(2500.0, result.getPrice());
         assertEquals(25000.0, result.getTotalPrice());
         verify(itemRepository, times(1)).findById(1);
-        verify(orderNumberGenerator, times(1)).generateOrderNumber();
-        verify(inventoryRepository, times(1)).calculateRemainingStock(1);
+        verify(orderNumberGenerator, times(1)).nextOrderNumber();
         verify(orderRepository, times(1)).save(any(Order.class));
         verify(inventoryService, times(1)).createWithdrawalForOrder(any(Order.class));
     }
@@ -222,16 +323,71 @@ public class OrderServiceTest {
                 .build();
 
         when(itemRepository.findById(1)).thenReturn(Optional.of(item1));
-        when(orderNumberGenerator.generateOrderNumber()).thenReturn("O002");
-        when(inventoryRepository.calculateRemainingStock(1)).thenReturn(100);
+        when(orderNumberGenerator.nextOrderNumber()).thenReturn(new OrderNumberGenerator.OrderNumber(2, "O002"));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new InsufficientStockException("Pensil 2B", 150, 100))
+                .when(inventoryService).createWithdrawalForOrder(any(Order.class));
 
         // When & Then
+        // Reservasi stock gagal di dalam transaksi sehingga order ikut di-rollback
         assertThrows(InsufficientStockException.class, () -> orderService.createOrder(newOrderDto));
         verify(itemRepository, times(1)).findById(1);
-        verify(orderNumberGenerator, times(1)).generateOrderNumber();
-        verify(inventoryRepository, times(1)).calculateRemainingStock(1);
-        verify(orderRepository, never()).save(any(Order.class));
-        verify(inventoryService, never()).createWithdrawalForOrder(any(Order.class));
+        verify(orderNumberGenerator, times(1)).nextOrderNumber();
+        verify(inventoryService, times(1)).createWithdrawalForOrder(any(Order.class));
+    }
+
+    @Test
+    void createOrders_BestEffort_CreatesValidLinesOnly() {
+        // Given
+        List<OrderDto> orderDtos = List.of(
+                OrderDto.builder().itemId(1).qty(10).build(),
+                OrderDto.builder().itemId(99).qty(1).build(),
+                OrderDto.builder().itemId(1).qty(95).build());
+
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item1));
+        when(stockBalanceService.lockStocks(any())).thenReturn(Map.of(1, 100));
+        when(orderNumberGenerator.nextOrderNumber()).thenReturn(new OrderNumberGenerator.OrderNumber(2, "O002"));
+
+        // When
+        OrderBatchResult result = orderService.createOrders(orderDtos, BatchMode.BEST_EFFORT);
+
+        // Then
+        assertEquals(3, result.totalCount());
+        assertEquals(1, result.successCount());
+        assertEquals(2, result.failureCount());
+        assertTrue(result.results().get(0).success());
+        assertEquals("O002", result.results().get(0).order().getOrderNo());
+        assertEquals(25000.0, result.results().get(0).order().getTotalPrice());
+        assertFalse(result.results().get(1).success());
+        assertFalse(result.results().get(2).success());
+        assertEquals(3, result.results().get(2).line());
+        verify(stockBalanceService, times(1)).lockStocks(any());
+        verify(stockBalanceService, times(1)).apply(1, InventoryType.W, 10, 1);
+        verify(stockMetrics, times(1)).recordInsufficientStock(1);
+        verify(orderBatchRepository, times(1)).insertOrders(argThat(orders -> orders.size() == 1));
+        verify(orderBatchRepository, times(1)).insertWithdrawals(argThat(orders -> orders.size() == 1));
+    }
+
+    @Test
+    void createOrders_AllOrNothing_RejectsWholeBatch() {
+        // Given
+        List<OrderDto> orderDtos = List.of(
+                OrderDto.builder().itemId(1).qty(10).build(),
+                OrderDto.builder().itemId(1).qty(95).build());
+
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item1));
+        when(stockBalanceService.lockStocks(any())).thenReturn(Map.of(1, 100));
+
+        // When
+        OrderBatchResult result = orderService.createOrders(orderDtos, BatchMode.ALL_OR_NOTHING);
+
+        // Then
+        assertEquals(0, result.successCount());
+        assertEquals(2, result.failureCount());
+        verify(orderNumberGenerator, never()).nextOrderNumber();
+        verify(stockBalanceService, never()).apply(anyInt(), any(InventoryType.class), anyInt(), anyInt());
+        verify(orderBatchRepository, never()).insertOrders(any());
+        verify(orderBatchRepository, never()).insertWithdrawals(any());
     }
 
     @Test
@@ -255,7 +411,6 @@ public class OrderServiceTest {
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order1));
         when(itemRepository.findById(1)).thenReturn(Optional.of(item1));
         doNothing().when(inventoryService).deleteInventoriesForOrder(orderId);
-        when(inventoryRepository.calculateRemainingStock(1)).thenReturn(100);
         when(orderRepository.save(any(Order.class))).thenReturn(updatedOrder);
         doNothing().when(inventoryService).createWithdrawalForOrder(any(Order.class));
 
@@ -273,7 +428,6 @@ public class OrderServiceTest {
         verify(orderRepository, times(1)).findById(orderId);
         verify(itemRepository, times(1)).findById(1);
         verify(inventoryService, times(1)).deleteInventoriesForOrder(orderId);
-        verify(inventoryRepository, times(1)).calculateRemainingStock(1);
         verify(orderRepository, times(1)).save(any(Order.class));
         verify(inventoryService, times(1)).createWithdrawalForOrder(any(Order.class));
     }
@@ -314,7 +468,6 @@ public class OrderServiceTest {
         verify(orderRepository, times(1)).findById(orderId);
         verify(itemRepository, times(1)).findById(1);
         verify(inventoryService, never()).deleteInventoriesForOrder(any(UUID.class));
-        verify(inventoryRepository, never()).calculateRemainingStock(anyInt());
         verify(orderRepository, times(1)).save(any(Order.class));
         verify(inventoryService, never()).createWithdrawalForOrder(any(Order.class));
     }
@@ -332,7 +485,9 @@ public class OrderServiceTest {
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order1));
         when(itemRepository.findById(1)).thenReturn(Optional.of(item1));
         doNothing().when(inventoryService).deleteInventoriesForOrder(orderId);
-        when(inventoryRepository.calculateRemainingStock(1)).thenReturn(100);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new InsufficientStockException("Pensil 2B", 150, 100))
+                .when(inventoryService).createWithdrawalForOrder(any(Order.class));
 
         // When & Then
         assertThrows(InsufficientStockException.class, () ->
@@ -340,9 +495,7 @@ public class OrderServiceTest {
         verify(orderRepository, times(1)).findById(orderId);
         verify(itemRepository, times(1)).findById(1);
         verify(inventoryService, times(1)).deleteInventoriesForOrder(orderId);
-        verify(inventoryRepository, times(1)).calculateRemainingStock(1);
-        verify(orderRepository, never()).save(any(Order.class));
-        verify(inventoryService, never()).createWithdrawalForOrder(any(Order.class));
+        verify(inventoryService, times(1)).createWithdrawalForOrder(any(Order.class));
     }
 
     @Test
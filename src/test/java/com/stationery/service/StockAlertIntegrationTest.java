@@ -0,0 +1,109 @@
+package com.stationery.service;
+
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.dto.OrderDto;
+import com.stationery.dto.response.StockAlertDto;
+import com.stationery.enums.InventoryType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Alert dievaluasi async setelah commit dan hanya tercatat saat threshold dilewati
+ */
+@SpringBootTest(properties = "stock.alert.enabled=true")
+@ActiveProfiles("test")
+public class StockAlertIntegrationTest {
+
+    @Autowired
+    private StockAlertService stockAlertService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void alertFiresOnlyWhenThresholdIsCrossed() throws InterruptedException {
+        // Given
+        Integer itemId = itemService.createItem(ItemDto.builder()
+                .name("Item Alert")
+                .price(1000.0)
+                .build()).getId();
+        topUp(itemId, 20);
+        StockAlertDto initial = stockAlertService.setThreshold(itemId, 10);
+        assertFalse(initial.low());
+
+        // When
+        orderService.createOrder(OrderDto.builder().itemId(itemId).qty(15).build());
+
+        // Then
+        StockAlertDto low = await(() -> findLow(itemId));
+        assertEquals(5, low.qty());
+        assertNotNull(low.lowSince());
+
+        // Order berikutnya tetap di bawah threshold, alert tidak tercatat lagi
+        orderService.createOrder(OrderDto.builder().itemId(itemId).qty(1).build());
+        await(() -> findLow(itemId).filter(alert -> alert.qty() == 4));
+        assertEquals(1.0, alertCount(itemId, "low"));
+
+        // Top-up memulihkan item dan menghapusnya dari daftar low
+        topUp(itemId, 50);
+        await(() -> findLow(itemId).isEmpty() ? Optional.of(true) : Optional.empty());
+        await(() -> alertCount(itemId, "recovered") == 1.0 ? Optional.of(true) : Optional.empty());
+        assertEquals(1.0, alertCount(itemId, "low"));
+    }
+
+    private Optional<StockAlertDto> findLow(Integer itemId) {
+        return stockAlertService.getLowStockItems(PageRequest.of(0, 1000)).getContent().stream()
+                .filter(alert -> alert.itemId().equals(itemId))
+                .findFirst();
+    }
+
+    private double alertCount(Integer itemId, String state) {
+        var counter = meterRegistry.find("stationery.stock.alert")
+                .tag("item", String.valueOf(itemId))
+                .tag("state", state)
+                .counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    private void topUp(Integer itemId, int qty) {
+        inventoryService.createInventory(InventoryDto.builder()
+                .itemId(itemId)
+                .qty(qty)
+                .type(InventoryType.T)
+                .build());
+    }
+
+    // Evaluasi berjalan di thread async, tunggu sampai kondisi terpenuhi
+    private <T> T await(Supplier<Optional<T>> condition) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (Instant.now().isBefore(deadline)) {
+            Optional<T> result = condition.get();
+            if (result.isPresent()) {
+                return result.get();
+            }
+            Thread.sleep(50);
+        }
+        return fail("Condition not met within 10 seconds");
+    }
+}
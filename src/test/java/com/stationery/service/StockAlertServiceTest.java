@@ -0,0 +1,191 @@
+package com.stationery.service;
+
+import com.stationery.dto.response.StockAlertDto;
+import com.stationery.dto.response.StockSnapshot;
+import com.stationery.entity.Item;
+import com.stationery.entity.StockAlert;
+import com.stationery.exception.ResourceNotFoundException;
+import com.stationery.repository.ItemRepository;
+import com.stationery.repository.StockAlertRepository;
+import com.stationery.util.StockMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StockAlertServiceTest {
+
+    @Mock
+    private StockAlertRepository stockAlertRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private StockBalanceService stockBalanceService;
+
+    @Mock
+    private StockMetrics stockMetrics;
+
+    @InjectMocks
+    private StockAlertService stockAlertService;
+
+    @Test
+    void evaluate_FallsBelowThreshold_Fires() {
+        // Given
+        StockAlert alert = alert(false, 15, 3L);
+        when(stockAlertRepository.findForUpdate(1)).thenReturn(Optional.of(alert));
+        when(stockBalanceService.findSnapshot(1)).thenReturn(Optional.of(new StockSnapshot(5, 4L)));
+
+        // When
+        boolean crossed = stockAlertService.evaluate(1);
+
+        // Then
+        assertTrue(crossed);
+        assertTrue(alert.isLow());
+        assertEquals(5, alert.getQty());
+        assertEquals(4L, alert.getStockVersion());
+        assertNotNull(alert.getLowSince());
+        verify(stockMetrics, times(1)).recordStockAlert(1, true);
+    }
+
+    @Test
+    void evaluate_StaysBelowThreshold_DoesNotFireAgain() {
+        // Given
+        StockAlert alert = alert(true, 5, 4L);
+        when(stockAlertRepository.findForUpdate(1)).thenReturn(Optional.of(alert));
+        when(stockBalanceService.findSnapshot(1)).thenReturn(Optional.of(new StockSnapshot(2, 5L)));
+
+        // When
+        boolean crossed = stockAlertService.evaluate(1);
+
+        // Then
+        assertFalse(crossed);
+        assertEquals(2, alert.getQty());
+        verify(stockMetrics, never()).recordStockAlert(anyInt(), anyBoolean());
+    }
+
+    @Test
+    void evaluate_Recovers_Fires() {
+        // Given
+        StockAlert alert = alert(true, 5, 4L);
+        when(stockAlertRepository.findForUpdate(1)).thenReturn(Optional.of(alert));
+        when(stockBalanceService.findSnapshot(1)).thenReturn(Optional.of(new StockSnapshot(50, 5L)));
+
+        // When
+        boolean crossed = stockAlertService.evaluate(1);
+
+        // Then
+        assertTrue(crossed);
+        assertFalse(alert.isLow());
+        assertNull(alert.getLowSince());
+        verify(stockMetrics, times(1)).recordStockAlert(1, false);
+    }
+
+    @Test
+    void evaluate_StaleStockVersion_Ignored() {
+        // Given
+        StockAlert alert = alert(false, 15, 5L);
+        when(stockAlertRepository.findForUpdate(1)).thenReturn(Optional.of(alert));
+        when(stockBalanceService.findSnapshot(1)).thenReturn(Optional.of(new StockSnapshot(5, 5L)));
+
+        // When
+        boolean crossed = stockAlertService.evaluate(1);
+
+        // Then
+        assertFalse(crossed);
+        assertFalse(alert.isLow());
+        assertEquals(15, alert.getQty());
+    }
+
+    @Test
+    void evaluate_NoThreshold_SkipsStockRead() {
+        // Given
+        when(stockAlertRepository.findForUpdate(1)).thenReturn(Optional.empty());
+
+        // When
+        boolean crossed = stockAlertService.evaluate(1);
+
+        // Then
+        assertFalse(crossed);
+        verify(stockBalanceService, never()).findSnapshot(anyInt());
+    }
+
+    @Test
+    void setThreshold_EvaluatesCurrentStockWithoutFiring() {
+        // Given
+        when(itemRepository.findById(1)).thenReturn(Optional.of(Item.builder().id(1).name("Pen").price(5.0).build()));
+        when(stockBalanceService.findSnapshot(1)).thenReturn(Optional.of(new StockSnapshot(5, 2L)));
+        when(stockAlertRepository.findForUpdate(1)).thenReturn(Optional.empty());
+
+        // When
+        StockAlertDto result = stockAlertService.setThreshold(1, 10);
+
+        // Then
+        assertTrue(result.low());
+        assertEquals("Pen", result.itemName());
+        assertEquals(10, result.threshold());
+        verify(stockAlertRepository, times(1)).save(argThat(alert -> alert.getStockVersion() == 2L));
+        verify(stockMetrics, never()).recordStockAlert(anyInt(), anyBoolean());
+    }
+
+    @Test
+    void setThreshold_KeepsNewerEvaluatedStock() {
+        // Given
+        StockAlert alert = alert(true, 3, 9L);
+        when(itemRepository.findById(1)).thenReturn(Optional.of(Item.builder().id(1).name("Pen").price(5.0).build()));
+        when(stockAlertRepository.findForUpdate(1)).thenReturn(Optional.of(alert));
+        when(stockBalanceService.findSnapshot(1)).thenReturn(Optional.of(new StockSnapshot(50, 5L)));
+
+        // When
+        StockAlertDto result = stockAlertService.setThreshold(1, 20);
+
+        // Then
+        assertTrue(result.low());
+        assertEquals(3, result.qty());
+        assertEquals(9L, alert.getStockVersion());
+        assertEquals(20, alert.getThreshold());
+        InOrder inOrder = inOrder(stockAlertRepository, stockBalanceService);
+        inOrder.verify(stockAlertRepository).findForUpdate(1);
+        inOrder.verify(stockBalanceService).findSnapshot(1);
+    }
+
+    @Test
+    void setThreshold_ItemNotFound() {
+        // Given
+        when(itemRepository.findById(99)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> stockAlertService.setThreshold(99, 10));
+        verify(stockAlertRepository, never()).save(any());
+    }
+
+    @Test
+    void removeThreshold_NotFound() {
+        // Given
+        when(stockAlertRepository.existsById(99)).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> stockAlertService.removeThreshold(99));
+        verify(stockAlertRepository, never()).deleteById(anyInt());
+    }
+
+    private StockAlert alert(boolean low, int qty, long stockVersion) {
+        return StockAlert.builder()
+                .itemId(1)
+                .threshold(10)
+                .low(low)
+                .qty(qty)
+                .stockVersion(stockVersion)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.stationery.service;
+
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.dto.OrderDto;
+import com.stationery.enums.InventoryType;
+import com.stationery.util.StockCheckpointJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checkpoint harus selalu sama dengan perhitungan ulang ledger penuh,
+ * termasuk setelah entry yang sudah masuk checkpoint di-update atau dihapus.
+ */
+@SpringBootTest(properties = "stock.checkpoint.enabled=true")
+@ActiveProfiles("test")
+public class StockCheckpointIntegrationTest {
+
+    @Autowired
+    private StockCheckpointService stockCheckpointService;
+
+    @Autowired
+    private StockCheckpointJob stockCheckpointJob;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void checkpointMatchesFullRecomputeAfterLedgerChanges() {
+        // Given
+        Integer itemId = itemService.createItem(ItemDto.builder()
+                .name("Item Checkpoint")
+                .price(1000.0)
+                .build()).getId();
+        InventoryDto topUp = inventoryService.createInventory(entry(itemId, 100, InventoryType.T));
+        InventoryDto withdrawal = inventoryService.createInventory(entry(itemId, 30, InventoryType.W));
+        OrderDto order = orderService.createOrder(OrderDto.builder().itemId(itemId).qty(10).build());
+        assertTrue(stockCheckpointService.checkpoint(itemId, 1));
+
+        // When: entry di dalam checkpoint diubah, dihapus, dan entry baru ditambahkan setelahnya
+        inventoryService.updateInventory(topUp.getId(), entry(itemId, 150, InventoryType.T));
+        inventoryService.deleteInventory(withdrawal.getId());
+        orderService.deleteOrder(order.getId());
+        inventoryService.createInventory(entry(itemId, 5, InventoryType.W));
+
+        // Then
+        int expected = ledgerStock(itemId);
+        assertEquals(145, expected);
+        assertEquals(expected, checkpointStock(itemId));
+        assertEquals(expected, inventoryService.calculateRemainingStock(itemId));
+        assertEquals(List.of(), stockCheckpointService.verify(List.of(itemId)));
+
+        // Checkpoint berikutnya tetap cocok dengan ledger
+        assertTrue(stockCheckpointService.checkpoint(itemId, 1));
+        assertEquals(expected, checkpointStock(itemId));
+        assertEquals(List.of(), stockCheckpointService.verify(List.of(itemId)));
+    }
+
+    @Test
+    void verifyDetectsAndDiscardsCorruptedCheckpoint() {
+        // Given
+        Integer itemId = itemService.createItem(ItemDto.builder()
+                .name("Item Checkpoint Corrupted")
+                .price(1000.0)
+                .build()).getId();
+        inventoryService.createInventory(entry(itemId, 40, InventoryType.T));
+        assertTrue(stockCheckpointService.checkpoint(itemId, 1));
+        jdbcTemplate.update("UPDATE stock_checkpoint SET qty = qty + 1 WHERE item_id = ?", itemId);
+
+        // When
+        int mismatched = stockCheckpointJob.verifyAll();
+
+        // Then
+        assertEquals(1, mismatched);
+        assertEquals(40, checkpointStock(itemId));
+        assertEquals(0, stockCheckpointJob.verifyAll());
+    }
+
+    private int checkpointStock(Integer itemId) {
+        // Nilai checkpoint ditambah entry setelahnya, seperti perhitungan di StockCheckpointService
+        List<Map<String, Object>> checkpoint = jdbcTemplate.queryForList(
+                "SELECT ledger_id, qty FROM stock_checkpoint WHERE item_id = ?", itemId);
+        int ledgerId = checkpoint.isEmpty() ? 0 : ((Number) checkpoint.get(0).get("ledger_id")).intValue();
+        int qty = checkpoint.isEmpty() ? 0 : ((Number) checkpoint.get(0).get("qty")).intValue();
+        return qty + jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(CASE WHEN type = 'T' THEN qty ELSE -qty END), 0) FROM inventory WHERE item_id = ? AND id > ?",
+                Integer.class, itemId, ledgerId);
+    }
+
+    private int ledgerStock(Integer itemId) {
+        // Perhitungan ulang ledger penuh, hanya untuk pembanding di test
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(CASE WHEN type = 'T' THEN qty ELSE -qty END), 0) FROM inventory WHERE item_id = ?",
+                Integer.class, itemId);
+    }
+
+    private InventoryDto entry(Integer itemId, int qty, InventoryType type) {
+        return InventoryDto.builder()
+                .itemId(itemId)
+                .qty(qty)
+                .type(type)
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.stationery.service;
+
+import com.stationery.dto.response.LedgerTail;
+import com.stationery.entity.Inventory;
+import com.stationery.entity.Item;
+import com.stationery.entity.StockCheckpoint;
+import com.stationery.enums.InventoryType;
+import com.stationery.repository.InventoryRepository;
+import com.stationery.repository.StockCheckpointRepository;
+import com.stationery.util.StockMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StockCheckpointServiceTest {
+
+    @Mock
+    private StockCheckpointRepository stockCheckpointRepository;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockBalanceService stockBalanceService;
+
+    @Mock
+    private StockMetrics stockMetrics;
+
+    @InjectMocks
+    private StockCheckpointService stockCheckpointService;
+
+    private Item item1;
+    private StockCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        item1 = Item.builder()
+                .id(1)
+                .name("Pensil 2B")
+                .price(2500.0)
+                .build();
+
+        checkpoint = StockCheckpoint.builder()
+                .itemId(1)
+                .ledgerId(100)
+                .qty(500)
+                .build();
+    }
+
+    @Test
+    void calculateStockExcluding_EntryInsideCheckpoint_IsSubtracted() {
+        // Given
+        Inventory withdrawal = Inventory.builder()
+                .id(50)
+                .item(item1)
+                .qty(30)
+                .type(InventoryType.W)
+                .build();
+        when(stockCheckpointRepository.findById(1)).thenReturn(Optional.of(checkpoint));
+        when(inventoryRepository.calculateStockChangeAfterExcluding(1, 100, 50)).thenReturn(10);
+
+        // When
+        int result = stockCheckpointService.calculateStockExcluding(1, withdrawal);
+
+        // Then
+        // 500 + 10 tanpa withdrawal 30 yang sudah termasuk di checkpoint
+        assertEquals(540, result);
+    }
+
+    @Test
+    void calculateStockExcluding_EntryAfterCheckpoint_IsExcludedByQuery() {
+        // Given
+        Inventory topUp = Inventory.builder()
+                .id(150)
+                .item(item1)
+                .qty(30)
+                .type(InventoryType.T)
+                .build();
+        when(stockCheckpointRepository.findById(1)).thenReturn(Optional.of(checkpoint));
+        when(inventoryRepository.calculateStockChangeAfterExcluding(1, 100, 150)).thenReturn(10);
+
+        // When
+        int result = stockCheckpointService.calculateStockExcluding(1, topUp);
+
+        // Then
+        assertEquals(510, result);
+    }
+
+    @Test
+    void checkpoint_EnoughNewEntries_MovesCheckpointForward() {
+        // Given
+        when(stockCheckpointRepository.findById(1)).thenReturn(Optional.of(checkpoint));
+        when(inventoryRepository.summarizeLedgerAfter(1, 100)).thenReturn(new LedgerTail(5L, 25L, 110));
+
+        // When
+        boolean written = stockCheckpointService.checkpoint(1, 5);
+
+        // Then
+        assertTrue(written);
+        assertEquals(110, checkpoint.getLedgerId());
+        assertEquals(525, checkpoint.getQty());
+        verify(stockBalanceService, times(1)).lockStocks(List.of(1));
+        verify(stockCheckpointRepository, times(1)).save(checkpoint);
+    }
+
+    @Test
+    void checkpoint_TooFewNewEntries_IsSkipped() {
+        // Given
+        when(stockCheckpointRepository.findById(1)).thenReturn(Optional.of(checkpoint));
+        when(inventoryRepository.summarizeLedgerAfter(1, 100)).thenReturn(new LedgerTail(2L, 25L, 102));
+
+        // When
+        boolean written = stockCheckpointService.checkpoint(1, 5);
+
+        // Then
+        assertFalse(written);
+        verify(stockCheckpointRepository, never()).save(any(StockCheckpoint.class));
+    }
+
+    @Test
+    void revert_AdjustsCheckpointThatIncludesEntry() {
+        // When
+        stockCheckpointService.revert(50, 1, InventoryType.W, 30);
+
+        // Then
+        verify(stockCheckpointRepository, times(1)).adjust(1, 50, 30);
+    }
+
+    @Test
+    void verify_Mismatch_DiscardsCheckpointAndRecordsMetric() {
+        // Given
+        when(stockCheckpointRepository.findMismatchedItemIds(List.of(1, 2))).thenReturn(List.of(2));
+
+        // When
+        List<Integer> result = stockCheckpointService.verify(List.of(1, 2));
+
+        // Then
+        assertEquals(List.of(2), result);
+        verify(stockMetrics, times(1)).recordCheckpointMismatch(2);
+        verify(stockCheckpointRepository, times(1)).deleteAllById(List.of(2));
+    }
+}
@@ -0,0 +1,132 @@
+package com.stationery.service;
+
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.dto.OrderDto;
+import com.stationery.dto.response.StockProjectionDto;
+import com.stationery.enums.BatchMode;
+import com.stationery.enums.InventoryType;
+import com.stationery.util.StockProjectionJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read model hasil proyeksi outbox harus sama dengan ledger setelah outbox habis diproses
+ */
+@SpringBootTest(properties = {"stock.projection.enabled=true", "stock.projection.interval-ms=3600000"})
+@ActiveProfiles("test")
+public class StockProjectionIntegrationTest {
+
+    @Autowired
+    private StockProjectionService stockProjectionService;
+
+    @Autowired
+    private StockProjectionJob stockProjectionJob;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void projectionMatchesLedgerAfterOutboxIsDrained() {
+        // Given
+        Integer itemId = itemService.createItem(ItemDto.builder()
+                .name("Item Projection")
+                .price(1000.0)
+                .build()).getId();
+        InventoryDto topUp = inventoryService.createInventory(entry(itemId, 100, InventoryType.T));
+        inventoryService.createInventory(entry(itemId, 20, InventoryType.W));
+        OrderDto order = orderService.createOrder(OrderDto.builder().itemId(itemId).qty(10).build());
+        orderService.createOrders(List.of(
+                OrderDto.builder().itemId(itemId).qty(5).build(),
+                OrderDto.builder().itemId(itemId).qty(5).build()), BatchMode.ALL_OR_NOTHING);
+        inventoryService.updateInventory(topUp.getId(), entry(itemId, 120, InventoryType.T));
+        orderService.deleteOrder(order.getId());
+
+        // Sebelum diproyeksikan, lag dan event pending dilaporkan
+        assertTrue(stockProjectionService.getProjection(itemId).pendingEvents() > 0);
+
+        // When
+        stockProjectionJob.projectPendingEvents();
+
+        // Then
+        StockProjectionDto projection = stockProjectionService.getProjection(itemId);
+        assertEquals(0L, projection.pendingEvents());
+        assertEquals(0L, projection.lagMillis());
+        assertEquals(inventoryService.calculateRemainingStock(itemId), projection.qty());
+        assertEquals(90, projection.qty());
+        assertEquals(ledgerValue("SUM(qty)", itemId, "T"), projection.topUpQty());
+        assertEquals(ledgerValue("SUM(qty)", itemId, "W"), projection.withdrawalQty());
+        assertEquals(ledgerValue("COUNT(*)", itemId, "T"), projection.topUpCount());
+        assertEquals(ledgerValue("COUNT(*)", itemId, "W"), projection.withdrawalCount());
+    }
+
+    @Test
+    void seededItemProjectionMatchesLedger() {
+        // Given: item 1 dari data.sql, read model di-seed dari ledger saat startup
+        Integer seededItemId = 1;
+
+        // When
+        stockProjectionJob.projectPendingEvents();
+
+        // Then
+        StockProjectionDto projection = stockProjectionService.getProjection(seededItemId);
+        assertTrue(projection.qty() > 0);
+        assertEquals(inventoryService.calculateRemainingStock(seededItemId), projection.qty());
+        assertEquals(ledgerValue("SUM(qty)", seededItemId, "T"), projection.topUpQty());
+        assertEquals(ledgerValue("SUM(qty)", seededItemId, "W"), projection.withdrawalQty());
+        assertEquals(ledgerValue("COUNT(*)", seededItemId, "T"), projection.topUpCount());
+        assertEquals(ledgerValue("COUNT(*)", seededItemId, "W"), projection.withdrawalCount());
+    }
+
+    @Test
+    void deleteItemRemovesProjectionAndPendingEvents() {
+        // Given
+        Integer itemId = itemService.createItem(ItemDto.builder()
+                .name("Item Projection Deleted")
+                .price(1000.0)
+                .build()).getId();
+        InventoryDto topUp = inventoryService.createInventory(entry(itemId, 10, InventoryType.T));
+        stockProjectionJob.projectPendingEvents();
+        inventoryService.deleteInventory(topUp.getId());
+
+        // When
+        itemService.deleteItem(itemId);
+
+        // Then
+        assertEquals(0, countRows("stock_projection", itemId));
+        assertEquals(0, countRows("stock_event", itemId));
+    }
+
+    private int countRows(String table, Integer itemId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE item_id = ?", Integer.class, itemId);
+    }
+
+    private long ledgerValue(String aggregate, Integer itemId, String type) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(" + aggregate + ", 0) FROM inventory WHERE item_id = ? AND type = ?",
+                Long.class, itemId, type);
+    }
+
+    private InventoryDto entry(Integer itemId, int qty, InventoryType type) {
+        return InventoryDto.builder()
+                .itemId(itemId)
+                .qty(qty)
+                .type(type)
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.stationery.service;
+
+import com.stationery.dto.response.PendingStockEvents;
+import com.stationery.dto.response.StockProjectionDto;
+import com.stationery.entity.StockEvent;
+import com.stationery.entity.StockProjection;
+import com.stationery.enums.InventoryType;
+import com.stationery.exception.ResourceNotFoundException;
+import com.stationery.repository.ItemRepository;
+import com.stationery.repository.StockBalanceRepository;
+import com.stationery.repository.StockEventRepository;
+import com.stationery.repository.StockProjectionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StockProjectionServiceTest {
+
+    @Mock
+    private StockEventRepository stockEventRepository;
+
+    @Mock
+    private StockProjectionRepository stockProjectionRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private StockBalanceRepository stockBalanceRepository;
+
+    @InjectMocks
+    private StockProjectionService stockProjectionService;
+
+    @Test
+    void recordEvent_WritesOutboxRow() {
+        // When
+        stockProjectionService.recordEvent(1, InventoryType.W, -5, -1);
+
+        // Then
+        ArgumentCaptor<StockEvent> captor = ArgumentCaptor.forClass(StockEvent.class);
+        verify(stockEventRepository, times(1)).save(captor.capture());
+        assertEquals(1, captor.getValue().getItemId());
+        assertEquals(-5, captor.getValue().getQty());
+        assertEquals(-1, captor.getValue().getEntries());
+        assertNotNull(captor.getValue().getCreatedAt());
+    }
+
+    @Test
+    void projectNextBatch_AppliesEventsAndDrainsOutbox() {
+        // Given
+        StockProjection existing = StockProjection.builder()
+                .itemId(1)
+                .qty(100)
+                .topUpQty(100L)
+                .withdrawalQty(0L)
+                .topUpCount(1L)
+                .withdrawalCount(0L)
+                .build();
+        List<StockEvent> events = List.of(
+                event(1L, 1, InventoryType.W, 30, 2),
+                event(2L, 1, InventoryType.W, -10, -1),
+                event(3L, 2, InventoryType.T, 50, 1));
+        when(stockEventRepository.findOldestForUpdate(any(Pageable.class))).thenReturn(events);
+        when(stockProjectionRepository.findAllById(any())).thenReturn(new ArrayList<>(List.of(existing)));
+
+        // When
+        int projected = stockProjectionService.projectNextBatch(500);
+
+        // Then
+        assertEquals(3, projected);
+        assertEquals(80, existing.getQty());
+        assertEquals(20L, existing.getWithdrawalQty());
+        assertEquals(1L, existing.getWithdrawalCount());
+        verify(stockProjectionRepository, times(1)).saveAll(argThat(projections -> {
+            List<StockProjection> saved = new ArrayList<>();
+            projections.forEach(saved::add);
+            return saved.size() == 2 && saved.stream().anyMatch(p -> p.getItemId() == 2 && p.getQty() == 50 && p.getTopUpCount() == 1L);
+        }));
+        verify(stockEventRepository, times(1)).deleteAllInBatch(events);
+    }
+
+    @Test
+    void projectNextBatch_EmptyOutbox_DoesNothing() {
+        // Given
+        when(stockEventRepository.findOldestForUpdate(any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        int projected = stockProjectionService.projectNextBatch(500);
+
+        // Then
+        assertEquals(0, projected);
+        verify(stockProjectionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void getProjection_ReportsPendingEventsAndLag() {
+        // Given
+        when(itemRepository.existsById(1)).thenReturn(true);
+        when(stockProjectionRepository.findById(1)).thenReturn(Optional.empty());
+        when(stockEventRepository.summarizePending(1))
+                .thenReturn(new PendingStockEvents(3L, LocalDateTime.now().minusSeconds(2)));
+
+        // When
+        StockProjectionDto result = stockProjectionService.getProjection(1);
+
+        // Then
+        assertEquals(0, result.qty());
+        assertEquals(3L, result.pendingEvents());
+        assertTrue(result.lagMillis() >= 2000);
+    }
+
+    @Test
+    void getProjection_ItemNotFound() {
+        // Given
+        when(itemRepository.existsById(99)).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> stockProjectionService.getProjection(99));
+        verify(stockProjectionRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void rebuild_LocksBalancesBeforeClearingOutbox() {
+        // Given
+        when(stockProjectionRepository.insertProjectionsFromLedger()).thenReturn(10);
+
+        // When
+        int result = stockProjectionService.rebuild();
+
+        // Then
+        assertEquals(10, result);
+        InOrder inOrder = inOrder(stockBalanceRepository, stockEventRepository, stockProjectionRepository);
+        inOrder.verify(stockBalanceRepository).lockAll();
+        inOrder.verify(stockEventRepository).deleteAllEvents();
+        inOrder.verify(stockProjectionRepository).deleteAllProjections();
+        inOrder.verify(stockProjectionRepository).insertProjectionsFromLedger();
+    }
+
+    private StockEvent event(Long id, Integer itemId, InventoryType type, int qty, int entries) {
+        return StockEvent.builder()
+                .id(id)
+                .itemId(itemId)
+                .type(type)
+                .qty(qty)
+                .entries(entries)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
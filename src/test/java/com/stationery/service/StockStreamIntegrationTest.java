@@ -0,0 +1,116 @@
+package com.stationery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.dto.response.StockChange;
+import com.stationery.enums.InventoryType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stream stock lewat HTTP: subscriber hanya menerima delta dari transaksi yang commit
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class StockStreamIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.security.user.name}")
+    private String username;
+
+    @Value("${spring.security.user.password}")
+    private String password;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockBalanceService stockBalanceService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamDeliversOnlyCommittedChanges() throws Exception {
+        // Given
+        Integer itemId = itemService.createItem(ItemDto.builder()
+                .name("Item Stream")
+                .price(1000.0)
+                .build()).getId();
+        Integer otherItemId = itemService.createItem(ItemDto.builder()
+                .name("Item Stream Other")
+                .price(1000.0)
+                .build()).getId();
+        String authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/inventories/stock/stream?itemId=" + itemId))
+                    .header("Authorization", authorization)
+                    .header("Accept", "text/event-stream")
+                    .build();
+            HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            assertEquals(200, response.statusCode());
+
+            // When
+            transactionTemplate.executeWithoutResult(status -> {
+                stockBalanceService.apply(itemId, InventoryType.T, 5);
+                status.setRollbackOnly();
+            });
+            inventoryService.createInventory(InventoryDto.builder()
+                    .itemId(otherItemId)
+                    .qty(3)
+                    .type(InventoryType.T)
+                    .build());
+            inventoryService.createInventory(InventoryDto.builder()
+                    .itemId(itemId)
+                    .qty(7)
+                    .type(InventoryType.T)
+                    .build());
+
+            // Then
+            StockChange change = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                Iterator<String> lines = response.body().iterator();
+                while (lines.hasNext()) {
+                    String line = lines.next();
+                    if (line.startsWith("data:")) {
+                        return objectMapper.readValue(line.substring("data:".length()), StockChange.class);
+                    }
+                }
+                return null;
+            });
+            assertEquals(new StockChange(itemId, InventoryType.T, 7), change);
+        } finally {
+            // Stream masih terbuka, close() biasa akan menunggu response selesai
+            client.shutdownNow();
+        }
+    }
+}
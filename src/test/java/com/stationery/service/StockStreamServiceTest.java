@@ -0,0 +1,77 @@
+package com.stationery.service;
+
+import com.stationery.dto.response.StockChange;
+import com.stationery.enums.InventoryType;
+import com.stationery.exception.BusinessLogicException;
+import com.stationery.util.StockMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StockStreamServiceTest {
+
+    private static final int BUFFER_SIZE = 2;
+
+    private SimpleMeterRegistry registry;
+    private StockStreamService stockStreamService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // Sender tidak pernah berjalan, sehingga subscriber berperilaku seperti client yang lambat
+        stockStreamService = new StockStreamService(new StockMetrics(registry), task -> {}, BUFFER_SIZE, 3, 2, 60000);
+    }
+
+    @Test
+    void onStockChanged_SlowSubscriberOverflow_Disconnected() {
+        // Given
+        stockStreamService.subscribe(List.of(1));
+
+        // When
+        IntStream.range(0, BUFFER_SIZE + 1)
+                .forEach(i -> stockStreamService.onStockChanged(new StockChange(1, InventoryType.T, 10)));
+
+        // Then
+        assertEquals(0, stockStreamService.getSubscriberCount());
+        assertEquals(1.0, registry.get("stationery.stock.stream.overflow").counter().count());
+        assertEquals(0.0, registry.get("stationery.stock.stream.subscribers").gauge().value());
+    }
+
+    @Test
+    void onStockChanged_OnlyBuffersForSubscribedItems() {
+        // Given
+        stockStreamService.subscribe(List.of(1));
+        stockStreamService.subscribe(null);
+
+        // When
+        IntStream.range(0, BUFFER_SIZE + 1)
+                .forEach(i -> stockStreamService.onStockChanged(new StockChange(2, InventoryType.W, -5)));
+
+        // Then
+        // Subscriber item 1 tidak menerima event item 2, subscriber semua item kelebihan buffer
+        assertEquals(1, stockStreamService.getSubscriberCount());
+        assertEquals(1.0, registry.get("stationery.stock.stream.overflow").counter().count());
+    }
+
+    @Test
+    void subscribe_TooManyItemIds_Rejected() {
+        // When & Then
+        assertThrows(BusinessLogicException.class, () -> stockStreamService.subscribe(List.of(1, 2, 3)));
+        assertEquals(0, stockStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void subscribe_TooManySubscribers_Rejected() {
+        // Given
+        IntStream.range(0, 3).forEach(i -> stockStreamService.subscribe(List.of(i)));
+
+        // When & Then
+        assertThrows(BusinessLogicException.class, () -> stockStreamService.subscribe(List.of(1)));
+        assertEquals(3, stockStreamService.getSubscriberCount());
+    }
+}
@@ -0,0 +1,147 @@
+package com.stationery.util;
+
+import com.stationery.dto.InventoryDto;
+import com.stationery.dto.ItemDto;
+import com.stationery.dto.OrderDto;
+import com.stationery.enums.InventoryType;
+import com.stationery.service.InventoryService;
+import com.stationery.service.ItemService;
+import com.stationery.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderNumberGeneratorTest {
+
+    private static final int BLOCK_SIZE = 1000;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void format_KeepsAllDigitsAfterO999() {
+        assertEquals("O007", OrderNumberGenerator.format(7));
+        assertEquals("O999", OrderNumberGenerator.format(999));
+        assertEquals("O1000", OrderNumberGenerator.format(1000));
+        assertEquals("O123456", OrderNumberGenerator.format(123456));
+    }
+
+    @Test
+    void nextOrderNumber_ConcurrentCallersAcrossBlocks_AreUnique() throws Exception {
+        // Given
+        int threads = 16;
+        int perThread = 250; // Total 4000 nomor, beberapa kali refill block
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<List<String>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<String> numbers = new ArrayList<>(perThread);
+                    for (int j = 0; j < perThread; j++) {
+                        numbers.add(orderNumberGenerator.nextOrderNumber().orderNo());
+                    }
+                    return numbers;
+                }));
+            }
+            start.countDown();
+        }
+
+        // Then
+        Set<String> unique = new HashSet<>();
+        for (Future<List<String>> future : futures) {
+            unique.addAll(future.get());
+        }
+        assertEquals(threads * perThread, unique.size());
+        assertTrue(unique.stream().allMatch(number -> number.matches("O\\d{3,}")));
+    }
+
+    @Test
+    void nextOrderNumber_TwoNodes_AreUnique() {
+        // Given
+        // Instance kedua mewakili node lain yang memakai sequence yang sama
+        OrderNumberGenerator otherNode = new OrderNumberGenerator(jdbcTemplate, entityManagerFactory, BLOCK_SIZE);
+        otherNode.initSequence();
+
+        // When
+        Set<String> unique = new HashSet<>();
+        int generated = 0;
+        for (int i = 0; i < 3 * BLOCK_SIZE; i++) {
+            unique.add(orderNumberGenerator.nextOrderNumber().orderNo());
+            unique.add(otherNode.nextOrderNumber().orderNo());
+            generated += 2;
+        }
+
+        // Then
+        assertEquals(generated, unique.size());
+    }
+
+    @Test
+    void initSequence_DifferentBlockSize_FailsFast() {
+        // Given
+        OrderNumberGenerator misconfigured = new OrderNumberGenerator(jdbcTemplate, entityManagerFactory, BLOCK_SIZE / 2);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, misconfigured::initSequence);
+    }
+
+    @Test
+    void initialValue_StartsAfterLargestExistingOrderSequence() {
+        // Given
+        Integer itemId = itemService.createItem(ItemDto.builder()
+                .name("Item Order Number")
+                .price(1000.0)
+                .build()).getId();
+        inventoryService.createInventory(InventoryDto.builder()
+                .itemId(itemId)
+                .qty(10)
+                .type(InventoryType.T)
+                .build());
+        OrderDto order = orderService.createOrder(OrderDto.builder().itemId(itemId).qty(1).build());
+        Long orderSeq = jdbcTemplate.queryForObject("SELECT order_seq FROM orders WHERE id = ?", Long.class, order.getId());
+        jdbcTemplate.update("UPDATE orders SET order_seq = 999999999 WHERE id = ?", order.getId());
+
+        try {
+            // When
+            long initialValue = orderNumberGenerator.initialValue();
+
+            // Then
+            assertEquals(1_000_000_000L, initialValue);
+        } finally {
+            jdbcTemplate.update("UPDATE orders SET order_seq = ? WHERE id = ?", orderSeq, order.getId());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.stationery.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StockMetricsTest {
+
+    @Test
+    void recordInsufficientStock_CountsPerItem() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StockMetrics stockMetrics = new StockMetrics(registry);
+
+        // When
+        stockMetrics.recordInsufficientStock(1);
+        stockMetrics.recordInsufficientStock(1);
+        stockMetrics.recordInsufficientStock(2);
+
+        // Then
+        assertEquals(2.0, registry.get("stationery.stock.insufficient").tag("item", "1").counter().count());
+        assertEquals(1.0, registry.get("stationery.stock.insufficient").tag("item", "2").counter().count());
+    }
+}
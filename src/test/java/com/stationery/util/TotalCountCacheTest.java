@@ -0,0 +1,70 @@
+package com.stationery.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TotalCountCacheTest {
+
+    @Test
+    void get_CountsOnceUntilRefresh() {
+        // Given
+        TotalCountCache cache = new TotalCountCache(600_000, 10);
+        AtomicLong calls = new AtomicLong();
+        AtomicLong total = new AtomicLong(5);
+
+        // When
+        long first = cache.get("orders", () -> { calls.incrementAndGet(); return total.get(); });
+        total.set(8);
+        long second = cache.get("orders", () -> { calls.incrementAndGet(); return total.get(); });
+
+        // Then
+        assertEquals(5, first);
+        assertEquals(5, second);
+        assertEquals(1, calls.get());
+
+        // When
+        cache.refresh();
+
+        // Then
+        assertEquals(8, cache.get("orders", total::get));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void get_DoesNotStoreBeyondMaxEntries() {
+        // Given
+        TotalCountCache cache = new TotalCountCache(600_000, 1);
+        AtomicLong calls = new AtomicLong();
+        cache.get("items", () -> 1);
+
+        // When
+        cache.get("orders", () -> { calls.incrementAndGet(); return 2; });
+        cache.get("orders", () -> { calls.incrementAndGet(); return 2; });
+
+        // Then
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void refresh_KeepsLastValueWhenCountFails() {
+        // Given
+        TotalCountCache cache = new TotalCountCache(600_000, 10);
+        AtomicLong total = new AtomicLong(3);
+        cache.get("items", () -> {
+            if (total.get() < 0) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return total.get();
+        });
+
+        // When
+        total.set(-1);
+        cache.refresh();
+
+        // Then
+        assertEquals(3, cache.get("items", () -> 0));
+    }
+}